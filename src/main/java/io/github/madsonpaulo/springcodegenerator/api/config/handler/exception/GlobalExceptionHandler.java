@@ -1,10 +1,13 @@
 package io.github.madsonpaulo.springcodegenerator.api.config.handler.exception;
 
+import java.util.stream.Collectors;
+
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -32,6 +35,17 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(ex.getStatus()).contentType(MediaType.APPLICATION_JSON).body(payload);
 	}
 
+	@ExceptionHandler(MethodArgumentNotValidException.class)
+	public ResponseEntity<Falha> handleInvalidBody(MethodArgumentNotValidException ex) {
+		String detalhe = ex.getBindingResult().getFieldErrors().stream()
+				.map(error -> "%s %s".formatted(error.getField(), error.getDefaultMessage()))
+				.collect(Collectors.joining("; "));
+		Falha payload = new Falha(detalhe);
+
+		logPorStatus(HttpStatus.BAD_REQUEST, detalhe, null);
+		return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(payload);
+	}
+
 	@ExceptionHandler(PersistenceException.class)
 	public ResponseEntity<Falha> handlePersistence(PersistenceException ex) {
 		return handle(ex, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -4,6 +4,9 @@ import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.stereotype.Component;
 
+import io.github.madsonpaulo.springcodegenerator.core.cache.ArtifactCache;
+import io.github.madsonpaulo.springcodegenerator.core.cache.TableMetadataCache;
+import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
 /**
@@ -12,7 +15,10 @@ import reactor.core.publisher.Mono;
  * SONAR
  */
 @Component
+@RequiredArgsConstructor
 public class HealthcheckComponent implements ReactiveHealthIndicator {
+	private final TableMetadataCache tableMetadataCache;
+	private final ArtifactCache artifactCache;
 
 	@Override
 	public Mono<Health> health() {
@@ -20,7 +26,8 @@ public class HealthcheckComponent implements ReactiveHealthIndicator {
 	}
 
 	private Mono<Health> checkDownstreamServiceHealth() {
-		return Mono.just(new Health.Builder().up().build());
+		return Mono.just(new Health.Builder().up().withDetail("tableMetadataCache", tableMetadataCache.getStats())
+				.withDetail("artifactCache", artifactCache.getStats()).build());
 	}
 
 }
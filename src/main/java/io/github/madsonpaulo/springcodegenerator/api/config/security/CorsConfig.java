@@ -8,10 +8,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import io.github.madsonpaulo.springcodegenerator.v1.controller.SourceGeneratorController;
+
 /**
  * Classe de configuração do Cors
  * 
@@ -38,6 +41,8 @@ public class CorsConfig {
 		config.setAllowedOriginPatterns(recuperaLista(urlsCors));
 		config.setAllowedHeaders(DEFAULT_PERMIT_ALL);
 		config.setAllowedMethods(recuperaLista(metodosHttpCors));
+		config.setExposedHeaders(List.of(HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG, HttpHeaders.LOCATION,
+				SourceGeneratorController.SCHEMA_VERSION_HEADER, SourceGeneratorController.CHECKSUM_HEADER));
 		source.registerCorsConfiguration("/**", config);
 		FilterRegistrationBean<CorsFilter> bean = new FilterRegistrationBean<>(new CorsFilter(source));
 		bean.setOrder(Integer.MIN_VALUE);
@@ -0,0 +1,244 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.ArtifactCacheStatsDto;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed cache of generated artifacts, keyed by a fingerprint of
+ * everything that determines them.
+ * <p>
+ * Entries are kept in memory up to {@code generator.cache.max-size} bytes,
+ * evicting the least recently used ones. When
+ * {@code generator.cache.disk-directory} is set, every entry is also written
+ * there as a file named after its key, and memory misses are served from disk.
+ * Since keys are content addresses, entries never go stale and the directory
+ * can be emptied at any time. The directory is bounded by
+ * {@code generator.cache.disk-max-size}: once it grows beyond, the least
+ * recently used files, by modification time, which disk hits refresh, are
+ * deleted.
+ */
+@Slf4j
+@Component
+public class ArtifactCache {
+	private final boolean enabled;
+	private final long maxBytes;
+	private final Path diskDirectory;
+	private final long diskMaxBytes;
+
+	private final Map<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long usedBytes;
+	private final Object diskLock = new Object();
+	private long diskUsedBytes = -1;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong diskHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong diskEvictions = new AtomicLong();
+
+	public ArtifactCache(@Value("${generator.cache.enabled:true}") boolean enabled,
+			@Value("${generator.cache.max-size:64MB}") DataSize maxSize,
+			@Value("${generator.cache.disk-directory:}") String diskDirectory,
+			@Value("${generator.cache.disk-max-size:1GB}") DataSize diskMaxSize) {
+		this.enabled = enabled;
+		this.maxBytes = maxSize.toBytes();
+		this.diskDirectory = StringUtils.hasText(diskDirectory) ? Path.of(diskDirectory) : null;
+		this.diskMaxBytes = diskMaxSize.toBytes();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public Optional<byte[]> get(String key) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+
+		synchronized (this) {
+			byte[] value = entries.get(key);
+			if (value != null) {
+				hits.incrementAndGet();
+				return Optional.of(value);
+			}
+		}
+
+		Optional<byte[]> value = readFromDisk(key);
+		if (value.isPresent()) {
+			diskHits.incrementAndGet();
+			putInMemory(key, value.get());
+		} else {
+			misses.incrementAndGet();
+		}
+
+		return value;
+	}
+
+	public void put(String key, byte[] value) {
+		if (!enabled) {
+			return;
+		}
+
+		putInMemory(key, value);
+		writeToDisk(key, value);
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		usedBytes = 0;
+	}
+
+	public synchronized ArtifactCacheStatsDto getStats() {
+		return new ArtifactCacheStatsDto(entries.size(), usedBytes, maxBytes, hits.get(), diskHits.get(),
+				misses.get(), evictions.get(), diskEvictions.get());
+	}
+
+	private synchronized void putInMemory(String key, byte[] value) {
+		if (value.length > maxBytes) {
+			return;
+		}
+
+		byte[] previous = entries.put(key, value);
+		usedBytes += value.length - (previous != null ? previous.length : 0);
+
+		Iterator<byte[]> eldest = entries.values().iterator();
+		while (usedBytes > maxBytes && eldest.hasNext()) {
+			usedBytes -= eldest.next().length;
+			eldest.remove();
+			evictions.incrementAndGet();
+		}
+	}
+
+	private Optional<byte[]> readFromDisk(String key) {
+		if (diskDirectory == null) {
+			return Optional.empty();
+		}
+
+		try {
+			Path file = diskDirectory.resolve(key);
+			byte[] value = Files.readAllBytes(file);
+			touch(file);
+
+			return Optional.of(value);
+		} catch (NoSuchFileException e) {
+			return Optional.empty();
+		} catch (IOException e) {
+			log.warn("Failed to read cached artifact {} from {}.", key, diskDirectory, e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Marks a file as recently used, unless it was trimmed in the meantime.
+	 */
+	private static void touch(Path file) {
+		try {
+			Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+		} catch (IOException e) {
+			// the value was read already
+		}
+	}
+
+	/**
+	 * Writes the entry through a temporary file and an atomic move, so
+	 * concurrent readers never see a partial file.
+	 */
+	private void writeToDisk(String key, byte[] value) {
+		if (diskDirectory == null || value.length > diskMaxBytes) {
+			return;
+		}
+
+		try {
+			Files.createDirectories(diskDirectory);
+			Path file = diskDirectory.resolve(key);
+			if (Files.exists(file)) {
+				return;
+			}
+
+			Path tempFile = Files.createTempFile(diskDirectory, key, ".tmp");
+			try {
+				Files.write(tempFile, value);
+				Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+
+			trimDisk(value.length);
+		} catch (IOException e) {
+			log.warn("Failed to write cached artifact {} to {}.", key, diskDirectory, e);
+		}
+	}
+
+	/**
+	 * Accounts for a new file and, past the size bound, deletes the least
+	 * recently used files. The directory is only listed the first time, which
+	 * picks up the files left by a previous run, and when it has to be trimmed.
+	 */
+	private void trimDisk(long writtenBytes) throws IOException {
+		synchronized (diskLock) {
+			if (diskUsedBytes < 0) {
+				diskUsedBytes = diskFiles().stream().mapToLong(DiskFile::size).sum();
+			} else {
+				diskUsedBytes += writtenBytes;
+			}
+
+			if (diskUsedBytes <= diskMaxBytes) {
+				return;
+			}
+
+			List<DiskFile> files = diskFiles();
+			diskUsedBytes = files.stream().mapToLong(DiskFile::size).sum();
+
+			for (DiskFile file : files) {
+				if (diskUsedBytes <= diskMaxBytes) {
+					break;
+				}
+				if (Files.deleteIfExists(file.path())) {
+					diskUsedBytes -= file.size();
+					diskEvictions.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Lists the cached files, least recently used first, skipping the temporary
+	 * files still being written.
+	 */
+	private List<DiskFile> diskFiles() throws IOException {
+		try (Stream<Path> paths = Files.list(diskDirectory)) {
+			return paths.filter(path -> !path.getFileName().toString().endsWith(".tmp")).map(path -> {
+				try {
+					return new DiskFile(path, Files.size(path), Files.getLastModifiedTime(path));
+				} catch (IOException e) {
+					return null;
+				}
+			}).filter(file -> file != null).sorted(Comparator.comparing(DiskFile::modifiedAt)).toList();
+		}
+	}
+
+	private record DiskFile(Path path, long size, FileTime modifiedAt) {
+	}
+
+}
@@ -0,0 +1,524 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.ColumnMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseCatalogDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+
+/**
+ * Whole-database catalog kept off-heap in a memory-mapped file. Table DTOs are
+ * only materialized for the names that are looked up, so a catalog costs almost
+ * no heap however large the schema is.
+ * <p>
+ * File layout, in native byte order:
+ * <ul>
+ * <li>header: magic, version, database name and the counts and offsets of the
+ * sections;</li>
+ * <li>table index: one fixed-width record per table or view, sorted by name for
+ * binary search, holding its object type and pointing at its columns and
+ * foreign keys;</li>
+ * <li>columns and foreign keys: fixed-width records grouped by table;</li>
+ * <li>string table: deduplicated, length-prefixed UTF-8 strings, referenced by
+ * their offset in the table.</li>
+ * </ul>
+ * Nullable and identity flags are stored as bits, so they are materialized as
+ * {@code Y}/{@code N}.
+ */
+public final class MappedCatalog {
+	private static final int MAGIC = 0x53434743;
+	private static final int VERSION = 2;
+	private static final int NULL_REF = -1;
+
+	private static final int HEADER_SIZE = 48;
+	private static final int TABLE_RECORD_INTS = 8;
+	private static final int COLUMN_RECORD_INTS = 7;
+	private static final int FOREIGN_KEY_RECORD_INTS = 4;
+
+	private static final int FLAG_PRIMARY_KEY = 1;
+	private static final int FLAG_NULLABLE = 2;
+	private static final int FLAG_IDENTITY = 4;
+
+	private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+	private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+
+	private final MemorySegment segment;
+	private final String databaseName;
+	private final int tableCount;
+	private final long columnsOffset;
+	private final long foreignKeysOffset;
+	private final long stringsOffset;
+	private final LongAdder materializedTables = new LongAdder();
+
+	private MappedCatalog(MemorySegment segment) {
+		this.segment = segment;
+		this.tableCount = segment.get(INT, 12);
+		this.columnsOffset = segment.get(LONG, 24);
+		this.foreignKeysOffset = segment.get(LONG, 32);
+		this.stringsOffset = segment.get(LONG, 40);
+		this.databaseName = string(segment.get(INT, 8));
+	}
+
+	/**
+	 * Writes the catalog to the file in the binary layout, replacing any previous
+	 * content.
+	 */
+	public static void write(Path path, DatabaseCatalogDto catalog) throws IOException {
+		StringPool strings = new StringPool();
+		Map<String, TableMetadataDto> sortedTables = new TreeMap<>(catalog.getTablesByName());
+
+		int columnCount = sortedTables.values().stream().mapToInt(table -> table.getColumns().size()).sum();
+		int foreignKeyCount = sortedTables.keySet().stream()
+				.mapToInt(key -> catalog.getForeignKeysByTable().getOrDefault(key, List.of()).size()).sum();
+
+		int[] tableRecords = new int[sortedTables.size() * TABLE_RECORD_INTS];
+		int[] columnRecords = new int[columnCount * COLUMN_RECORD_INTS];
+		int[] foreignKeyRecords = new int[foreignKeyCount * FOREIGN_KEY_RECORD_INTS];
+
+		int tableIndex = 0;
+		int columnIndex = 0;
+		int foreignKeyIndex = 0;
+		for (Map.Entry<String, TableMetadataDto> entry : sortedTables.entrySet()) {
+			TableMetadataDto table = entry.getValue();
+			List<ForeignKeyDto> foreignKeys = catalog.getForeignKeysByTable().getOrDefault(entry.getKey(), List.of());
+
+			int t = tableIndex++ * TABLE_RECORD_INTS;
+			tableRecords[t] = strings.ref(entry.getKey());
+			tableRecords[t + 1] = strings.ref(table.getTableName());
+			tableRecords[t + 2] = strings.ref(table.getTableDescription());
+			tableRecords[t + 3] = columnIndex;
+			tableRecords[t + 4] = table.getColumns().size();
+			tableRecords[t + 5] = foreignKeyIndex;
+			tableRecords[t + 6] = foreignKeys.size();
+			tableRecords[t + 7] = table.getObjectType() != null ? table.getObjectType().ordinal() : NULL_REF;
+
+			for (ColumnMetadataDto column : table.getColumns()) {
+				int c = columnIndex++ * COLUMN_RECORD_INTS;
+				columnRecords[c] = strings.ref(column.getColumnName());
+				columnRecords[c + 1] = strings.ref(column.getColumnSqlType());
+				columnRecords[c + 2] = strings.ref(column.getColumnDescription());
+				columnRecords[c + 3] = column.getLength();
+				columnRecords[c + 4] = column.getPrecision();
+				columnRecords[c + 5] = column.getScale();
+				columnRecords[c + 6] = (column.isPrimaryKey() ? FLAG_PRIMARY_KEY : 0)
+						| (column.isNullable() ? FLAG_NULLABLE : 0) | (column.isIdentity() ? FLAG_IDENTITY : 0);
+			}
+
+			for (ForeignKeyDto foreignKey : foreignKeys) {
+				int f = foreignKeyIndex++ * FOREIGN_KEY_RECORD_INTS;
+				foreignKeyRecords[f] = strings.ref(foreignKey.getSourceColumnName());
+				foreignKeyRecords[f + 1] = strings.ref(foreignKey.getForeignKeyName());
+				foreignKeyRecords[f + 2] = strings.ref(foreignKey.getReferencedTableName());
+				foreignKeyRecords[f + 3] = strings.ref(foreignKey.getReferencedColumnName());
+			}
+		}
+
+		int databaseNameRef = strings.ref(catalog.getDatabaseName());
+		byte[] stringBytes = strings.toByteArray();
+
+		long tablesOffset = HEADER_SIZE;
+		long newColumnsOffset = tablesOffset + (long) tableRecords.length * Integer.BYTES;
+		long newForeignKeysOffset = newColumnsOffset + (long) columnRecords.length * Integer.BYTES;
+		long newStringsOffset = newForeignKeysOffset + (long) foreignKeyRecords.length * Integer.BYTES;
+		long size = newStringsOffset + stringBytes.length;
+
+		try (Arena arena = Arena.ofConfined();
+				FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MemorySegment target = channel.map(MapMode.READ_WRITE, 0, size, arena);
+
+			target.set(INT, 0, MAGIC);
+			target.set(INT, 4, VERSION);
+			target.set(INT, 8, databaseNameRef);
+			target.set(INT, 12, sortedTables.size());
+			target.set(INT, 16, columnCount);
+			target.set(INT, 20, foreignKeyCount);
+			target.set(LONG, 24, newColumnsOffset);
+			target.set(LONG, 32, newForeignKeysOffset);
+			target.set(LONG, 40, newStringsOffset);
+
+			MemorySegment.copy(tableRecords, 0, target, INT, tablesOffset, tableRecords.length);
+			MemorySegment.copy(columnRecords, 0, target, INT, newColumnsOffset, columnRecords.length);
+			MemorySegment.copy(foreignKeyRecords, 0, target, INT, newForeignKeysOffset, foreignKeyRecords.length);
+			MemorySegment.copy(stringBytes, 0, target, ValueLayout.JAVA_BYTE, newStringsOffset, stringBytes.length);
+
+			target.force();
+		}
+	}
+
+	/**
+	 * Maps a catalog file read-only. The mapping is released by the garbage
+	 * collector once the catalog is no longer referenced.
+	 */
+	public static MappedCatalog open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			MemorySegment segment = channel.map(MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+
+			if (segment.byteSize() < HEADER_SIZE || segment.get(INT, 0) != MAGIC || segment.get(INT, 4) != VERSION) {
+				throw new IOException("'%s' is not a version %d catalog file.".formatted(path, VERSION));
+			}
+
+			return new MappedCatalog(segment);
+		}
+	}
+
+	public String getDatabaseName() {
+		return databaseName;
+	}
+
+	public int getTableCount() {
+		return tableCount;
+	}
+
+	public long getByteSize() {
+		return segment.byteSize();
+	}
+
+	/**
+	 * Number of table DTOs materialized from the file so far.
+	 */
+	long getMaterializedTableCount() {
+		return materializedTables.sum();
+	}
+
+	/**
+	 * Materializes the table with the given name, or returns {@code null} when the
+	 * catalog has no such table.
+	 */
+	public TableMetadataDto findTable(String tableName) {
+		int index = indexOf(tableName.toUpperCase(StringUtil.LOCALE));
+
+		return index < 0 ? null : readTable(index);
+	}
+
+	/**
+	 * Materializes the foreign keys of the table with the given name, or returns
+	 * {@code null} when the catalog has no such table.
+	 */
+	public List<ForeignKeyDto> findForeignKeys(String tableName) {
+		int index = indexOf(tableName.toUpperCase(StringUtil.LOCALE));
+
+		return index < 0 ? null : readForeignKeys(index);
+	}
+
+	/**
+	 * Read-only view of the tables by upper-cased name that materializes the DTOs
+	 * on access.
+	 */
+	public Map<String, TableMetadataDto> tablesView() {
+		return new LazyMap<>() {
+			@Override
+			public TableMetadataDto get(Object key) {
+				return key instanceof String name ? findTable(name) : null;
+			}
+
+			@Override
+			TableMetadataDto valueAt(int index) {
+				return readTable(index);
+			}
+		};
+	}
+
+	/**
+	 * Read-only view of the foreign keys by upper-cased source table name that
+	 * materializes the DTOs on access.
+	 */
+	public Map<String, List<ForeignKeyDto>> foreignKeysView() {
+		return new LazyMap<>() {
+			@Override
+			public List<ForeignKeyDto> get(Object key) {
+				return key instanceof String name ? findForeignKeys(name) : null;
+			}
+
+			@Override
+			List<ForeignKeyDto> valueAt(int index) {
+				return readForeignKeys(index);
+			}
+		};
+	}
+
+	private int indexOf(String key) {
+		int low = 0;
+		int high = tableCount - 1;
+
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = keyAt(middle).compareTo(key);
+
+			if (comparison < 0) {
+				low = middle + 1;
+			} else if (comparison > 0) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+
+		return -1;
+	}
+
+	private String keyAt(int index) {
+		return string(tableInt(index, 0));
+	}
+
+	private TableMetadataDto readTable(int index) {
+		materializedTables.increment();
+
+		TableMetadataDto table = new TableMetadataDto();
+		table.setDatabaseName(databaseName);
+		table.setTableName(string(tableInt(index, 1)));
+		table.setTableDescription(string(tableInt(index, 2)));
+
+		int objectType = tableInt(index, 7);
+		table.setObjectType(objectType != NULL_REF ? CatalogObjectType.values()[objectType] : null);
+
+		int firstColumn = tableInt(index, 3);
+		int columnCount = tableInt(index, 4);
+		for (int i = 0; i < columnCount; i++) {
+			table.getColumns().add(readColumn(columnsOffset + (long) (firstColumn + i) * COLUMN_RECORD_INTS * Integer.BYTES));
+		}
+
+		return table;
+	}
+
+	private ColumnMetadataDto readColumn(long offset) {
+		int flags = segment.get(INT, offset + 24);
+
+		return new ColumnMetadataDto(string(segment.get(INT, offset)), string(segment.get(INT, offset + 4)),
+				string(segment.get(INT, offset + 8)), null, null, null, yesNo(flags, FLAG_NULLABLE),
+				yesNo(flags, FLAG_IDENTITY), segment.get(INT, offset + 12), segment.get(INT, offset + 16),
+				segment.get(INT, offset + 20), (flags & FLAG_PRIMARY_KEY) != 0);
+	}
+
+	private List<ForeignKeyDto> readForeignKeys(int index) {
+		String tableName = string(tableInt(index, 1));
+		int firstForeignKey = tableInt(index, 5);
+		int foreignKeyCount = tableInt(index, 6);
+
+		List<ForeignKeyDto> foreignKeys = new ArrayList<>(foreignKeyCount);
+		for (int i = 0; i < foreignKeyCount; i++) {
+			long offset = foreignKeysOffset + (long) (firstForeignKey + i) * FOREIGN_KEY_RECORD_INTS * Integer.BYTES;
+
+			foreignKeys.add(new ForeignKeyDto(tableName, string(segment.get(INT, offset)),
+					string(segment.get(INT, offset + 4)), string(segment.get(INT, offset + 8)),
+					string(segment.get(INT, offset + 12))));
+		}
+
+		return foreignKeys;
+	}
+
+	private int tableInt(int index, int field) {
+		return segment.get(INT, HEADER_SIZE + ((long) index * TABLE_RECORD_INTS + field) * Integer.BYTES);
+	}
+
+	private String string(int ref) {
+		if (ref == NULL_REF) {
+			return null;
+		}
+
+		long offset = stringsOffset + ref;
+		int length = segment.get(INT, offset);
+
+		return new String(segment.asSlice(offset + Integer.BYTES, length).toArray(ValueLayout.JAVA_BYTE),
+				StandardCharsets.UTF_8);
+	}
+
+	private static String yesNo(int flags, int flag) {
+		return (flags & flag) != 0 ? "Y" : "N";
+	}
+
+	/**
+	 * Deduplicating string table, built while the records are written.
+	 */
+	private static final class StringPool {
+		private final Map<String, Integer> refs = new HashMap<>();
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		int ref(String value) {
+			if (value == null) {
+				return NULL_REF;
+			}
+
+			return refs.computeIfAbsent(value, key -> {
+				int ref = bytes.size();
+				byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+
+				bytes.writeBytes(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.nativeOrder())
+						.putInt(encoded.length).array());
+				bytes.writeBytes(encoded);
+
+				return ref;
+			});
+		}
+
+		byte[] toByteArray() {
+			return bytes.toByteArray();
+		}
+	}
+
+	/**
+	 * Map keyed by the table index of the file, whose values are read on demand.
+	 * Its keys and entries are iterated without reading any value; an entry
+	 * reads its value the first time it is asked for.
+	 */
+	private abstract class LazyMap<V> extends AbstractMap<String, V> {
+
+		abstract V valueAt(int index);
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof String name && indexOf(name.toUpperCase(StringUtil.LOCALE)) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return tableCount;
+		}
+
+		@Override
+		public Set<String> keySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<String> iterator() {
+					return new IndexIterator<>() {
+						@Override
+						String elementAt(int index) {
+							return keyAt(index);
+						}
+					};
+				}
+
+				@Override
+				public boolean contains(Object key) {
+					return containsKey(key);
+				}
+
+				@Override
+				public int size() {
+					return tableCount;
+				}
+			};
+		}
+
+		@Override
+		public Set<Map.Entry<String, V>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Map.Entry<String, V>> iterator() {
+					return new IndexIterator<>() {
+						@Override
+						Map.Entry<String, V> elementAt(int index) {
+							return new LazyEntry(index);
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return tableCount;
+				}
+			};
+		}
+
+		/**
+		 * Read-only entry that reads its value only when it is asked for.
+		 */
+		private final class LazyEntry implements Map.Entry<String, V> {
+			private final int index;
+			private final String key;
+			private V value;
+			private boolean read;
+
+			private LazyEntry(int index) {
+				this.index = index;
+				this.key = keyAt(index);
+			}
+
+			@Override
+			public String getKey() {
+				return key;
+			}
+
+			@Override
+			public V getValue() {
+				if (!read) {
+					value = valueAt(index);
+					read = true;
+				}
+
+				return value;
+			}
+
+			@Override
+			public V setValue(V value) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public boolean equals(Object other) {
+				return other instanceof Map.Entry<?, ?> entry && key.equals(entry.getKey())
+						&& Objects.equals(getValue(), entry.getValue());
+			}
+
+			@Override
+			public int hashCode() {
+				return key.hashCode() ^ Objects.hashCode(getValue());
+			}
+
+			@Override
+			public String toString() {
+				return key + "=" + getValue();
+			}
+		}
+	}
+
+	/**
+	 * Iterates over the table index of the file.
+	 */
+	private abstract class IndexIterator<E> implements Iterator<E> {
+		private int index;
+
+		abstract E elementAt(int index);
+
+		@Override
+		public boolean hasNext() {
+			return index < tableCount;
+		}
+
+		@Override
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return elementAt(index++);
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+/**
+ * Runs at most one computation per key at a time.
+ * <p>
+ * The first caller of a key computes the value; callers arriving with the same
+ * key while it is in flight wait for it and share its value or its failure.
+ * Nothing is kept once the computation completes.
+ */
+public class SingleFlight<K, V> {
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	public V execute(K key, Supplier<V> computation) {
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> leaderCall = inFlight.putIfAbsent(key, call);
+
+		if (leaderCall != null) {
+			return await(leaderCall);
+		}
+
+		try {
+			V value = computation.get();
+			call.complete(value);
+
+			return value;
+		} catch (RuntimeException | Error e) {
+			call.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, call);
+		}
+	}
+
+	private V await(CompletableFuture<V> call) {
+		try {
+			return call.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null, e.getCause().getMessage(),
+					e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CacheStatsDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+
+/**
+ * Size-bounded LRU cache of resolved table metadata, keyed by qualified table
+ * name.
+ * <p>
+ * An entry is served only while it is younger than the configured TTL and the
+ * catalog {@code modify_date} of the object still matches the one it was
+ * cached with.
+ */
+@Component
+public class TableMetadataCache {
+	private final boolean enabled;
+	private final int maxEntries;
+	private final long ttlNanos;
+
+	private final Map<String, Entry> entries;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong expirations = new AtomicLong();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public TableMetadataCache(@Value("${catalog.cache.enabled:true}") boolean enabled,
+			@Value("${catalog.cache.max-entries:2000}") int maxEntries,
+			@Value("${catalog.cache.ttl:PT30M}") Duration ttl) {
+		this.enabled = enabled;
+		this.maxEntries = maxEntries;
+		this.ttlNanos = ttl.toNanos();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				boolean evict = size() > TableMetadataCache.this.maxEntries;
+				if (evict) {
+					evictions.incrementAndGet();
+				}
+				return evict;
+			}
+		};
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the cached metadata if it is neither expired nor outdated by the
+	 * given catalog modification date.
+	 */
+	public synchronized Optional<TableMetadataDto> get(String qualifiedTableName, LocalDateTime modifyDate) {
+		Entry entry = entries.get(qualifiedTableName);
+
+		if (entry == null) {
+			misses.incrementAndGet();
+			return Optional.empty();
+		}
+
+		if (System.nanoTime() - entry.cachedAtNanos() > ttlNanos) {
+			entries.remove(qualifiedTableName);
+			expirations.incrementAndGet();
+			misses.incrementAndGet();
+			return Optional.empty();
+		}
+
+		if (modifyDate == null || !Objects.equals(modifyDate, entry.modifyDate())) {
+			entries.remove(qualifiedTableName);
+			invalidations.incrementAndGet();
+			misses.incrementAndGet();
+			return Optional.empty();
+		}
+
+		hits.incrementAndGet();
+		return Optional.of(entry.tableMetadata());
+	}
+
+	public synchronized void put(String qualifiedTableName, TableMetadataDto tableMetadata, LocalDateTime modifyDate) {
+		if (!enabled || modifyDate == null) {
+			return;
+		}
+
+		entries.put(qualifiedTableName, new Entry(tableMetadata, modifyDate, System.nanoTime()));
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized CacheStatsDto getStats() {
+		return new CacheStatsDto(entries.size(), maxEntries, hits.get(), misses.get(), evictions.get(),
+				expirations.get(), invalidations.get());
+	}
+
+	private record Entry(TableMetadataDto tableMetadata, LocalDateTime modifyDate, long cachedAtNanos) {
+	}
+
+}
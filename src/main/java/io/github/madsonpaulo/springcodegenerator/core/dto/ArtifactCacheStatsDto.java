@@ -0,0 +1,21 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArtifactCacheStatsDto {
+	private int size;
+	private long usedBytes;
+	private long maxBytes;
+
+	private long hits;
+	private long diskHits;
+	private long misses;
+	private long evictions;
+	private long diskEvictions;
+
+}
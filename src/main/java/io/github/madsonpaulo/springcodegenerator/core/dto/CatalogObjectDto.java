@@ -0,0 +1,23 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.time.LocalDateTime;
+
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry of {@code sys.objects} for a table or view. The object id survives
+ * renames; it is {@code null} for catalogs that do not know it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogObjectDto {
+	private String objectName;
+	private CatalogObjectType objectType;
+	private LocalDateTime modifyDate;
+	private Integer objectId;
+
+}
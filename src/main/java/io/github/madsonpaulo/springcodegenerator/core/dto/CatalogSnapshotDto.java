@@ -0,0 +1,32 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Offline copy of the catalog of a database (or of a subset of its tables),
+ * holding the raw metadata exactly as the repositories return it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSnapshotDto {
+	public static final int CURRENT_FORMAT_VERSION = 1;
+
+	private int formatVersion = CURRENT_FORMAT_VERSION;
+	private String databaseName;
+	private LocalDateTime exportedAt;
+
+	private List<TableMetadataDto> tables = new ArrayList<>();
+	private List<TableMetadataDto> views = new ArrayList<>();
+	private List<ForeignKeyDto> foreignKeys = new ArrayList<>();
+	private Map<String, LocalDateTime> modifyDates = new HashMap<>();
+
+}
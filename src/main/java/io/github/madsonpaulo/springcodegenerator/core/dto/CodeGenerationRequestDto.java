@@ -1,5 +1,6 @@
 package io.github.madsonpaulo.springcodegenerator.core.dto;
 
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,7 +12,11 @@ public class CodeGenerationRequestDto {
 	private String tableNames;
 	private String rootPackage;
 
+	private boolean generateEntity;
 	private boolean generateDto;
 	private boolean generateServiceRepository;
 
+	private PackagingFormat packagingFormat;
+	private Integer compressionLevel;
+
 }
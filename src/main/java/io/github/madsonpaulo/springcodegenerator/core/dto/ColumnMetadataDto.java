@@ -2,6 +2,9 @@ package io.github.madsonpaulo.springcodegenerator.core.dto;
 
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,9 +23,11 @@ public class ColumnMetadataDto {
 	private String javaType;
 	private String foreignKeyComment;
 
+	@JsonProperty
 	@Getter(AccessLevel.NONE)
 	private String allowsNull;
 
+	@JsonProperty
 	@Getter(AccessLevel.NONE)
 	private String identityFlag;
 
@@ -31,12 +36,19 @@ public class ColumnMetadataDto {
 	private int scale;
 	private boolean primaryKey;
 
+	@JsonIgnore
 	public boolean isIdentity() {
 		return identityFlag != null && Set.of("A", "D", "Y").contains(identityFlag.toUpperCase());
 	}
 
+	@JsonIgnore
 	public boolean isNullable() {
 		return "Y".equalsIgnoreCase(allowsNull);
 	}
 
+	public ColumnMetadataDto copy() {
+		return new ColumnMetadataDto(columnName, columnSqlType, columnDescription, javaName, javaType,
+				foreignKeyComment, allowsNull, identityFlag, length, precision, scale, primaryKey);
+	}
+
 }
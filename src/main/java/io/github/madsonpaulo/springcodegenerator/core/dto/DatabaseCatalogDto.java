@@ -0,0 +1,52 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Whole-database catalog held in memory, indexed by upper-cased object name.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatabaseCatalogDto {
+	private String databaseName;
+	private LocalDateTime loadedAt;
+
+	private Map<String, TableMetadataDto> tablesByName;
+	private Map<String, List<ForeignKeyDto>> foreignKeysByTable;
+
+	public int getTableCount() {
+		return tablesByName.size();
+	}
+
+	/**
+	 * Upper-cased names of the tables and views. For catalogs mapped from a file
+	 * they are read without materializing any table.
+	 */
+	public Set<String> getTableNames() {
+		return tablesByName.keySet();
+	}
+
+	public static Map<String, TableMetadataDto> indexTables(Collection<TableMetadataDto> tables) {
+		return tables.stream().collect(Collectors.toMap(table -> table.getTableName().toUpperCase(StringUtil.LOCALE),
+				Function.identity(), (table1, table2) -> table1));
+	}
+
+	public static Map<String, List<ForeignKeyDto>> indexForeignKeys(Collection<ForeignKeyDto> foreignKeys) {
+		return foreignKeys.stream()
+				.collect(Collectors.groupingBy(fk -> fk.getSourceTableName().toUpperCase(StringUtil.LOCALE)));
+	}
+
+}
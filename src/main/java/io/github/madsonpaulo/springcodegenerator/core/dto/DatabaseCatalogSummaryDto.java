@@ -0,0 +1,22 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatabaseCatalogSummaryDto {
+	private String databaseName;
+	private LocalDateTime loadedAt;
+	private int tableCount;
+
+	public static DatabaseCatalogSummaryDto of(DatabaseCatalogDto catalog) {
+		return new DatabaseCatalogSummaryDto(catalog.getDatabaseName(), catalog.getLoadedAt(),
+				catalog.getTableCount());
+	}
+
+}
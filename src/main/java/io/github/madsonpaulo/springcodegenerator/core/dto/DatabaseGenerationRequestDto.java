@@ -0,0 +1,29 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Generation request for every table and view of a database whose name
+ * matches the comma-separated {@code LIKE} patterns to include and none of
+ * those to exclude. No include pattern means every object.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatabaseGenerationRequestDto {
+	private String databaseName;
+	private String includePatterns;
+	private String excludePatterns;
+	private String rootPackage;
+
+	private boolean generateEntity;
+	private boolean generateDto;
+	private boolean generateServiceRepository;
+
+	private PackagingFormat packagingFormat;
+	private Integer compressionLevel;
+
+}
@@ -8,6 +8,13 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ForeignKeyDto {
+	/**
+	 * Separates the constraints of a column whose foreign keys are folded into a
+	 * single value, in catalog rows and in the merged column comments.
+	 */
+	public static final String SEPARATOR = "#";
+
+	private String sourceTableName;
 	private String sourceColumnName;
 	private String foreignKeyName;
 	private String referencedTableName;
@@ -0,0 +1,25 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import org.springframework.core.io.Resource;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Downloadable result of a generation request: a single .java file or an
+ * archive of all the generated sources, with its content type, the version
+ * it was generated from and the SHA-256 checksum of its bytes. The payload is
+ * held in memory, or in a file when it was spooled past the spill threshold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeneratedPayloadDto {
+	private String fileName;
+	private String contentType;
+	private Resource payload;
+	private String version;
+	private String checksum;
+
+}
@@ -0,0 +1,34 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.time.LocalDateTime;
+
+import io.github.madsonpaulo.springcodegenerator.core.enums.GenerationJobStatus;
+import io.github.madsonpaulo.springcodegenerator.core.enums.GenerationStage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of an asynchronous generation job. The stage and table counters are
+ * only meaningful while the job is running or once it finished.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerationJobDto {
+	private String jobId;
+	private GenerationJobStatus status;
+	private GenerationStage stage;
+
+	private int tableCount;
+	private int generatedTableCount;
+
+	private LocalDateTime submittedAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+
+	private String fileName;
+	private Long payloadSize;
+	private String errorMessage;
+
+}
@@ -0,0 +1,34 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of a generation job submission. Like the query parameters of the
+ * interactive endpoints, every artifact is generated unless turned off.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerationJobRequestDto {
+	@NotBlank
+	private String tableNames;
+	@NotBlank
+	private String rootPackage;
+
+	private boolean generateEntity = true;
+	private boolean generateDto = true;
+	private boolean generateServiceRepository = true;
+
+	private PackagingFormat packagingFormat;
+	private Integer compressionLevel;
+
+	public CodeGenerationRequestDto toGenerationRequest() {
+		return new CodeGenerationRequestDto(tableNames, rootPackage, generateEntity, generateDto,
+				generateServiceRepository, packagingFormat, compressionLevel);
+	}
+
+}
@@ -0,0 +1,27 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Metadata a generation request actually consumes. Columns and primary keys
+ * feed every artifact, while foreign keys only feed the field comments of
+ * entities and their composite key classes, so they are fetched only when
+ * entities are requested. Views never have foreign keys.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetadataFetchPlanDto {
+	private boolean foreignKeys;
+
+	public static MetadataFetchPlanDto full() {
+		return new MetadataFetchPlanDto(true);
+	}
+
+	public static MetadataFetchPlanDto forRequest(CodeGenerationRequestDto request) {
+		return new MetadataFetchPlanDto(request.isGenerateEntity());
+	}
+
+}
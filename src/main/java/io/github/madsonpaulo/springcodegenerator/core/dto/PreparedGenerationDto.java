@@ -0,0 +1,24 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A generation request resolved up to, but excluding, rendering: the metadata
+ * of its tables, the artifact key of each table and the version of the
+ * resulting payload, which changes whenever any of them does.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreparedGenerationDto {
+	private CodeGenerationRequestDto request;
+	private List<TableMetadataDto> tablesMetadata;
+	private List<String> artifactKeys;
+
+	private String version;
+
+}
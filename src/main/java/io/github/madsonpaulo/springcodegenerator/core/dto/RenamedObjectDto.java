@@ -0,0 +1,14 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenamedObjectDto {
+	private String previousName;
+	private String currentName;
+
+}
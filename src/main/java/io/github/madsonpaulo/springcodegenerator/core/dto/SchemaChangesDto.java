@@ -0,0 +1,27 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Manifest of an incremental generation: the tables whose classes were
+ * generated and the objects deleted or renamed since the previous version.
+ * {@code fullRegeneration} is set when no previous version was given or it is
+ * no longer known, so every table was generated and deletions could not be
+ * detected.
+ */
+@Data
+@NoArgsConstructor
+public class SchemaChangesDto {
+	private String since;
+	private String schemaVersion;
+	private boolean fullRegeneration;
+
+	private List<String> changed = new ArrayList<>();
+	private List<String> deleted = new ArrayList<>();
+	private List<RenamedObjectDto> renamed = new ArrayList<>();
+
+}
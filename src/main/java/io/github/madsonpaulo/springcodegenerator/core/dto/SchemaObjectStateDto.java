@@ -0,0 +1,20 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of one table or view in a schema version. The modification date is
+ * kept as the ISO-8601 text read from the catalog, with its full precision;
+ * the artifact key is {@code null} when the table was not generated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaObjectStateDto {
+	private Integer objectId;
+	private String modifyDate;
+	private String artifactKey;
+
+}
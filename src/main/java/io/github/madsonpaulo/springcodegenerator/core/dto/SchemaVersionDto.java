@@ -0,0 +1,22 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tables of an incremental generation and the options they were generated
+ * with, stored under its own fingerprint, which is the opaque schema version
+ * handed to the client.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaVersionDto {
+	private String optionsKey;
+	private Map<String, SchemaObjectStateDto> objects = new LinkedHashMap<>();
+
+}
@@ -0,0 +1,33 @@
+package io.github.madsonpaulo.springcodegenerator.core.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Downloadable result of a generation request that is produced while it is
+ * written to the client, instead of being buffered in memory first. Its
+ * checksum is only known when the same version was written before.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamedPayloadDto {
+	private String fileName;
+	private String contentType;
+	private String version;
+	private String checksum;
+	private PayloadWriter writer;
+
+	@FunctionalInterface
+	public interface PayloadWriter {
+		/**
+		 * Writes the payload to the stream, leaving it open.
+		 */
+		void writeTo(OutputStream outputStream) throws IOException;
+	}
+
+}
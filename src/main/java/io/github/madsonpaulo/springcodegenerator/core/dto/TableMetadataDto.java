@@ -3,6 +3,9 @@ package io.github.madsonpaulo.springcodegenerator.core.dto;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
 import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
 import lombok.Data;
 
@@ -11,19 +14,35 @@ public class TableMetadataDto {
 	private String tableName;
 	private String tableDescription;
 	private String databaseName;
+	private CatalogObjectType objectType;
 
 	private String javaName;
 
 	private List<ColumnMetadataDto> columns = new ArrayList<>();
 
+	/**
+	 * Raw foreign keys, only filled by
+	 * {@code TableMetadataRepository#fetchTableDetails}.
+	 */
+	@JsonIgnore
+	private List<ForeignKeyDto> foreignKeys = new ArrayList<>();
+
+	@JsonIgnore
+	public String getQualifiedName() {
+		return "%s.%s".formatted(databaseName, tableName);
+	}
+
+	@JsonIgnore
 	public boolean isCompositePk() {
 		return columns.stream().filter(ColumnMetadataDto::isPrimaryKey).limit(2).count() > 1;
 	}
 
+	@JsonIgnore
 	public boolean isView() {
-		return this.tableName != null && !this.tableName.isBlank() && this.tableName.charAt(0) == 'V';
+		return objectType == CatalogObjectType.VIEW;
 	}
 
+	@JsonIgnore
 	public String getPkJavaType() {
 		if (isCompositePk()) {
 			return StringUtil.getPkClassName(javaName);
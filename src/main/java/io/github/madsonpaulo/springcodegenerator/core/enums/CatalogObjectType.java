@@ -0,0 +1,31 @@
+package io.github.madsonpaulo.springcodegenerator.core.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Catalog object kinds the generator reads, with their {@code sys.objects}
+ * type codes.
+ */
+@Getter
+@AllArgsConstructor
+public enum CatalogObjectType {
+	TABLE("U"),
+	VIEW("V"),
+
+	;
+
+	private final String code;
+
+	public static Optional<CatalogObjectType> fromCode(String code) {
+		if (code == null || code.isBlank()) {
+			return Optional.empty();
+		}
+
+		return Arrays.stream(values()).filter(e -> e.code.equalsIgnoreCase(code.strip())).findFirst();
+	}
+
+}
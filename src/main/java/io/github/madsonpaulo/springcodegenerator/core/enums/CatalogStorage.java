@@ -0,0 +1,14 @@
+package io.github.madsonpaulo.springcodegenerator.core.enums;
+
+/**
+ * Where the in-memory catalog keeps the metadata of a database.
+ */
+public enum CatalogStorage {
+	/** Plain DTO object graphs on the heap. */
+	HEAP,
+	/** Binary file mapped off-heap, materializing DTOs on access. */
+	MAPPED,
+
+	;
+
+}
@@ -0,0 +1,22 @@
+package io.github.madsonpaulo.springcodegenerator.core.enums;
+
+/**
+ * Lifecycle of an asynchronous generation job.
+ */
+public enum GenerationJobStatus {
+	/** Waiting for a free worker. */
+	QUEUED,
+	/** Being generated; see its stage. */
+	RUNNING,
+	/** Finished, with a payload ready to download. */
+	SUCCEEDED,
+	/** Finished with an error. */
+	FAILED,
+
+	;
+
+	public boolean isFinished() {
+		return this == SUCCEEDED || this == FAILED;
+	}
+
+}
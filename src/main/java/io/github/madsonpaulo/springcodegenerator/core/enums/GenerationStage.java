@@ -0,0 +1,16 @@
+package io.github.madsonpaulo.springcodegenerator.core.enums;
+
+/**
+ * Stages a running generation job goes through, in order.
+ */
+public enum GenerationStage {
+	/** Resolving the metadata of the requested tables. */
+	FETCHING_METADATA,
+	/** Building and rendering the classes of each table. */
+	RENDERING,
+	/** Packaging the rendered sources into the payload. */
+	PACKAGING,
+
+	;
+
+}
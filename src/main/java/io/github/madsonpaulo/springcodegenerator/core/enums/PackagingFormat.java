@@ -0,0 +1,24 @@
+package io.github.madsonpaulo.springcodegenerator.core.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Archive format of a download with more than one generated file.
+ */
+@Getter
+@AllArgsConstructor
+public enum PackagingFormat {
+	/** ZIP archive with DEFLATE compressed entries. */
+	ZIP("zip", "application/zip"),
+	/** ZIP archive with uncompressed entries, for clients on a fast network. */
+	ZIP_STORED("zip", "application/zip"),
+	/** POSIX tar archive compressed as a whole with GZIP. */
+	TAR_GZ("tar.gz", "application/gzip"),
+
+	;
+
+	private final String extension;
+	private final String mediaType;
+
+}
@@ -0,0 +1,253 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+/**
+ * Catalog statements shared by the SQL Server repository implementations.
+ * Object names are always bound through the {@value #PARAM_NAMES} parameter,
+ * name patterns through {@value #PARAM_INCLUDES} and {@value #PARAM_EXCLUDES},
+ * and database names looked up through {@value #PARAM_DATABASE}.
+ */
+final class CatalogQueries {
+
+	static final String PARAM_NAMES = "names";
+	static final String PARAM_INCLUDES = "includes";
+	static final String PARAM_EXCLUDES = "excludes";
+	static final String PARAM_DATABASE = "database";
+	private static final String NAME_FILTER = "AND %s IN (SELECT value FROM STRING_SPLIT(:names, ','))";
+
+	private static final String TABLE_INFO_SQL = """
+			SELECT
+			    t.name AS nome_tabela,
+			    ep.value AS descricao_tabela,
+			    c.name AS nome_coluna,
+			    ty.name AS tipo_coluna,
+			    epc.value AS descricao_coluna,
+			    CASE WHEN c.is_nullable = 1 THEN 'Y' ELSE 'N' END AS permite_nulo,
+			    c.max_length AS comprimento,
+			    c.precision as precisao,
+			    c.scale AS escala,
+			    ic.key_ordinal AS chave_primaria,
+			    CASE WHEN c.is_identity = 1 THEN 'Y' ELSE 'N' END AS tipo_identity
+			FROM
+			    %1$s.sys.tables t
+			JOIN
+			    %1$s.sys.columns c ON t.object_id = c.object_id
+			JOIN
+			    %1$s.sys.types ty ON c.user_type_id = ty.user_type_id
+			LEFT JOIN
+			    %1$s.sys.extended_properties ep ON ep.major_id = t.object_id AND ep.minor_id = 0 AND ep.name = 'MS_Description'
+			LEFT JOIN
+			    %1$s.sys.extended_properties epc ON epc.major_id = c.object_id AND epc.minor_id = c.column_id AND epc.name = 'MS_Description'
+			LEFT JOIN (
+			    SELECT ic.object_id, ic.column_id, ic.key_ordinal
+			    FROM %1$s.sys.index_columns ic
+			    JOIN %1$s.sys.indexes i ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+			    WHERE i.is_primary_key = 1
+			) ic ON ic.object_id = c.object_id AND ic.column_id = c.column_id
+			WHERE
+			    ty.name <> 'sysname'
+			    %2$s
+			ORDER BY
+			    t.name, c.column_id
+			""";
+
+	/**
+	 * Columns, primary key ordinals and foreign key targets of the requested
+	 * tables in one statement. The foreign keys of a column are aggregated into
+	 * {@value ForeignKeyDto#SEPARATOR}-separated lists ordered by constraint name,
+	 * so every column stays a single row. {@code STRING_AGG ... WITHIN GROUP}
+	 * needs SQL Server 2017 or later.
+	 */
+	private static final String TABLE_DETAILS_SQL = """
+			WITH tabelas AS (
+			    SELECT t.object_id, t.name
+			    FROM %1$s.sys.tables t
+			    WHERE 1 = 1
+			    %2$s
+			),
+			chaves_primarias AS (
+			    SELECT ic.object_id, ic.column_id, ic.key_ordinal
+			    FROM tabelas t
+			    JOIN %1$s.sys.indexes i ON i.object_id = t.object_id AND i.is_primary_key = 1
+			    JOIN %1$s.sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+			),
+			chaves_estrangeiras AS (
+			    SELECT
+			        fkc.parent_object_id AS object_id,
+			        fkc.parent_column_id AS column_id,
+			        STRING_AGG(CAST(fk.name AS NVARCHAR(MAX)), '{separator}') WITHIN GROUP (ORDER BY fk.name) AS nomes_chave,
+			        STRING_AGG(CAST(rt.name AS NVARCHAR(MAX)), '{separator}') WITHIN GROUP (ORDER BY fk.name) AS tabelas_destino,
+			        STRING_AGG(CAST(rc.name AS NVARCHAR(MAX)), '{separator}') WITHIN GROUP (ORDER BY fk.name) AS colunas_destino
+			    FROM tabelas t
+			    JOIN %1$s.sys.foreign_key_columns fkc ON fkc.parent_object_id = t.object_id
+			    JOIN %1$s.sys.foreign_keys fk ON fk.object_id = fkc.constraint_object_id
+			    JOIN %1$s.sys.tables rt ON rt.object_id = fkc.referenced_object_id
+			    JOIN %1$s.sys.columns rc ON rc.object_id = fkc.referenced_object_id AND rc.column_id = fkc.referenced_column_id
+			    GROUP BY fkc.parent_object_id, fkc.parent_column_id
+			)
+			SELECT
+			    t.name AS nome_tabela,
+			    ep.value AS descricao_tabela,
+			    c.name AS nome_coluna,
+			    ty.name AS tipo_coluna,
+			    epc.value AS descricao_coluna,
+			    CASE WHEN c.is_nullable = 1 THEN 'Y' ELSE 'N' END AS permite_nulo,
+			    c.max_length AS comprimento,
+			    c.precision as precisao,
+			    c.scale AS escala,
+			    pk.key_ordinal AS chave_primaria,
+			    CASE WHEN c.is_identity = 1 THEN 'Y' ELSE 'N' END AS tipo_identity,
+			    fk.nomes_chave AS nomes_chave,
+			    fk.tabelas_destino AS tabelas_destino,
+			    fk.colunas_destino AS colunas_destino
+			FROM
+			    tabelas t
+			JOIN
+			    %1$s.sys.columns c ON t.object_id = c.object_id
+			JOIN
+			    %1$s.sys.types ty ON c.user_type_id = ty.user_type_id
+			LEFT JOIN
+			    %1$s.sys.extended_properties ep ON ep.major_id = t.object_id AND ep.minor_id = 0 AND ep.name = 'MS_Description'
+			LEFT JOIN
+			    %1$s.sys.extended_properties epc ON epc.major_id = c.object_id AND epc.minor_id = c.column_id AND epc.name = 'MS_Description'
+			LEFT JOIN
+			    chaves_primarias pk ON pk.object_id = c.object_id AND pk.column_id = c.column_id
+			LEFT JOIN
+			    chaves_estrangeiras fk ON fk.object_id = c.object_id AND fk.column_id = c.column_id
+			WHERE
+			    ty.name <> 'sysname'
+			ORDER BY
+			    t.name, c.column_id
+			""".replace("{separator}", ForeignKeyDto.SEPARATOR);
+
+	private static final String VIEW_INFO_SQL = """
+			    SELECT
+			        v.name AS nome_tabela,
+			        ep.value AS descricao_tabela,
+			        c.name AS nome_coluna,
+			        ty.name AS tipo_coluna,
+			        epc.value AS descricao_coluna,
+			        CASE WHEN c.is_nullable = 1 THEN 'Y' ELSE 'N' END AS permite_nulo,
+			        c.max_length AS comprimento,
+			        c.precision as precisao,
+			        c.scale AS escala,
+			        null AS chave_primaria,
+			        CASE WHEN c.is_identity = 1 THEN 'Y' ELSE 'N' END AS tipo_identity
+			    FROM
+			        %1$s.sys.views v
+			    JOIN
+			        %1$s.sys.columns c ON v.object_id = c.object_id
+			    JOIN
+			        %1$s.sys.types ty ON c.user_type_id = ty.user_type_id
+			    LEFT JOIN
+			        %1$s.sys.extended_properties ep ON ep.major_id = v.object_id AND ep.minor_id = 0 AND ep.name = 'MS_Description'
+			    LEFT JOIN
+			        %1$s.sys.extended_properties epc ON epc.major_id = c.object_id AND epc.minor_id = c.column_id AND epc.name = 'MS_Description'
+			    WHERE
+			        ty.name <> 'sysname'
+			        %2$s
+			    ORDER BY
+			        v.name, c.column_id
+			""";
+
+	private static final String FOREIGN_KEYS_SQL = """
+			SELECT
+			    t.name AS tabelaOrigem,
+			    c.name AS colunaAtual,
+			    fk.name AS nomeChaveEstrangeira,
+			    rt.name AS tabelaDestino,
+			    rc.name AS colunaDestino
+			FROM
+			    %1$s.sys.foreign_keys AS fk
+			JOIN
+			    %1$s.sys.tables AS t ON fk.parent_object_id = t.object_id
+			JOIN
+			    %1$s.sys.foreign_key_columns AS fkc ON fk.object_id = fkc.constraint_object_id
+			JOIN
+			    %1$s.sys.columns AS c ON fkc.parent_column_id = c.column_id AND c.object_id = t.object_id
+			JOIN
+			    %1$s.sys.tables AS rt ON fk.referenced_object_id = rt.object_id
+			JOIN
+			    %1$s.sys.columns AS rc ON fkc.referenced_column_id = rc.column_id AND rc.object_id = rt.object_id
+			WHERE
+			    1 = 1
+			    %2$s
+			""";
+
+	static final String DATABASE_EXISTS_SQL = "SELECT CASE WHEN DB_ID(:database) IS NULL THEN 0 ELSE 1 END";
+
+	static final CatalogQueryCache OBJECTS_QUERY = new CatalogQueryCache("""
+			SELECT
+			    o.name AS nome_objeto,
+			    o.type AS tipo_objeto,
+			    o.modify_date AS data_alteracao,
+			    o.object_id AS id_objeto
+			FROM
+			    %1$s.sys.objects o
+			WHERE
+			    o.type IN ('U', 'V')
+			    AND o.name IN (SELECT value FROM STRING_SPLIT(:names, ','))
+			""");
+
+	/**
+	 * Tables and views whose names match any of the comma-separated
+	 * {@code LIKE} patterns to include and none of those to exclude. An empty
+	 * exclude list splits into a single empty pattern, which matches no name.
+	 */
+	static final CatalogQueryCache MATCHING_OBJECTS_QUERY = new CatalogQueryCache("""
+			SELECT
+			    o.name AS nome_objeto,
+			    o.type AS tipo_objeto,
+			    o.modify_date AS data_alteracao,
+			    o.object_id AS id_objeto
+			FROM
+			    %1$s.sys.objects o
+			WHERE
+			    o.type IN ('U', 'V')
+			    AND EXISTS (SELECT 1 FROM STRING_SPLIT(:includes, ',') i WHERE o.name LIKE i.value)
+			    AND NOT EXISTS (SELECT 1 FROM STRING_SPLIT(:excludes, ',') e WHERE o.name LIKE e.value)
+			ORDER BY
+			    o.name
+			""");
+
+	static final CatalogQueryCache TABLE_INFO_QUERY = new CatalogQueryCache(TABLE_INFO_SQL,
+			NAME_FILTER.formatted("t.name"));
+	static final CatalogQueryCache TABLE_DETAILS_QUERY = new CatalogQueryCache(TABLE_DETAILS_SQL,
+			NAME_FILTER.formatted("t.name"));
+	static final CatalogQueryCache VIEW_INFO_QUERY = new CatalogQueryCache(VIEW_INFO_SQL,
+			NAME_FILTER.formatted("v.name"));
+	static final CatalogQueryCache FOREIGN_KEYS_QUERY = new CatalogQueryCache(FOREIGN_KEYS_SQL,
+			NAME_FILTER.formatted("t.name"));
+
+	static final CatalogQueryCache ALL_TABLE_INFO_QUERY = new CatalogQueryCache(TABLE_INFO_SQL);
+	static final CatalogQueryCache ALL_VIEW_INFO_QUERY = new CatalogQueryCache(VIEW_INFO_SQL);
+	static final CatalogQueryCache ALL_FOREIGN_KEYS_QUERY = new CatalogQueryCache(FOREIGN_KEYS_SQL);
+
+	private CatalogQueries() {
+	}
+
+	static CodeGenerationException foreignKeysException(String tableName, Exception e) {
+		String message = String.format(
+				"Unable to retrieve the list of foreign keys of the table '%s'. Please verify SELECT permissions for the configured database user.",
+				tableName);
+
+		return new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, tableName, message, e);
+	}
+
+	/**
+	 * Reports a failure of the combined columns, primary keys and foreign keys
+	 * statement, which may come from the query itself, its execution or the
+	 * mapping of its rows.
+	 */
+	static CodeGenerationException tableDetailsException(String tableNames, Exception e) {
+		String message = "Unable to retrieve the columns, primary keys and foreign keys of the tables '%s': %s"
+				.formatted(tableNames, e.getMessage());
+
+		return new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, tableNames, message, e);
+	}
+
+}
@@ -0,0 +1,72 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+/**
+ * Holds one catalog SQL statement per database name.
+ * <p>
+ * The database prefix of a three-part name cannot be a bound parameter, so it
+ * is validated and formatted into the template once; every other value must be
+ * a bound parameter. Returning the very same text for the same database lets
+ * SQL Server reuse the cached plan across requests instead of compiling an
+ * ad-hoc statement per table.
+ * <p>
+ * Templates may also take a fixed {@code %2$s} fragment, which lets the same
+ * SELECT be cached with and without its name filter.
+ * <p>
+ * Database names come from requests, so only the most recently used
+ * {@value #MAX_DATABASES} statements are kept; an evicted one is simply
+ * formatted again, with the same text.
+ */
+final class CatalogQueryCache {
+	private static final Pattern DATABASE_NAME_PATTERN = Pattern.compile("[\\p{L}_@#][\\p{L}\\p{N}_@#$]{0,127}");
+	static final int MAX_DATABASES = 64;
+
+	private final String template;
+	private final String filter;
+	private final Map<String, String> statements = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_DATABASES;
+		}
+	};
+
+	/**
+	 * @param template SQL text in which every {@code %1$s} is replaced by the
+	 *                 database name.
+	 */
+	CatalogQueryCache(String template) {
+		this(template, "");
+	}
+
+	/**
+	 * @param template SQL text in which every {@code %1$s} is replaced by the
+	 *                 database name and {@code %2$s} by the filter.
+	 * @param filter   fixed SQL fragment, never user input.
+	 */
+	CatalogQueryCache(String template, String filter) {
+		this.template = template;
+		this.filter = filter;
+	}
+
+	String forDatabase(String databaseName) {
+		if (databaseName == null || !DATABASE_NAME_PATTERN.matcher(databaseName).matches()) {
+			String message = "'%s' is not a valid database name.".formatted(databaseName);
+
+			throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null, message);
+		}
+
+		synchronized (statements) {
+			return statements.computeIfAbsent(databaseName, name -> template.formatted(name, filter));
+		}
+	}
+
+}
@@ -0,0 +1,147 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ColumnMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+
+/**
+ * Maps the untyped rows of the catalog queries, as returned by native JPA
+ * queries, into the typed metadata DTOs.
+ * <p>
+ * Column rows are laid out as: table name, table description, column name, SQL
+ * type, column description, nullable flag, length, precision, scale, primary
+ * key ordinal and identity flag. Table detail rows append the
+ * {@value ForeignKeyDto#SEPARATOR}-separated foreign key names,
+ * referenced tables and referenced columns of the column.
+ */
+final class CatalogRowMapper {
+
+	private CatalogRowMapper() {
+	}
+
+	/**
+	 * Groups column rows ordered by table name into one table per name, keeping
+	 * the order of the rows.
+	 */
+	static List<TableMetadataDto> toTables(String databaseName, List<Object[]> rows, CatalogObjectType objectType) {
+		Map<String, TableMetadataDto> tables = new LinkedHashMap<>();
+
+		for (Object[] row : rows) {
+			String tableName = ((String) row[0]).toUpperCase(StringUtil.LOCALE);
+
+			tables.computeIfAbsent(tableName, name -> newTable(databaseName, name, (String) row[1], objectType))
+					.getColumns().add(toColumn(row));
+		}
+
+		return new ArrayList<>(tables.values());
+	}
+
+	/**
+	 * Groups table detail rows like {@link #toTables(String, List, CatalogObjectType)}, also
+	 * collecting the foreign keys aggregated in each column row.
+	 */
+	static List<TableMetadataDto> toTableDetails(String databaseName, List<Object[]> rows) {
+		Map<String, TableMetadataDto> tables = new LinkedHashMap<>();
+
+		for (Object[] row : rows) {
+			String tableName = ((String) row[0]).toUpperCase(StringUtil.LOCALE);
+			TableMetadataDto table = tables.computeIfAbsent(tableName,
+					name -> newTable(databaseName, name, (String) row[1], CatalogObjectType.TABLE));
+
+			table.getColumns().add(toColumn(row));
+			addForeignKeys(table, (String) row[2], (String) row[11], (String) row[12], (String) row[13]);
+		}
+
+		return new ArrayList<>(tables.values());
+	}
+
+	/**
+	 * Splits the aggregated foreign keys of a column into one DTO per constraint.
+	 */
+	static void addForeignKeys(TableMetadataDto table, String columnName, String foreignKeyNames,
+			String referencedTables, String referencedColumns) {
+		if (foreignKeyNames == null) {
+			return;
+		}
+
+		String separator = Pattern.quote(ForeignKeyDto.SEPARATOR);
+		String[] names = foreignKeyNames.split(separator);
+		String[] tables = referencedTables.split(separator);
+		String[] columns = referencedColumns.split(separator);
+
+		for (int i = 0; i < names.length; i++) {
+			table.getForeignKeys()
+					.add(new ForeignKeyDto(table.getTableName(), columnName, names[i], tables[i], columns[i]));
+		}
+	}
+
+	static TableMetadataDto newTable(String databaseName, String tableName, String tableDescription,
+			CatalogObjectType objectType) {
+		TableMetadataDto table = new TableMetadataDto();
+		table.setDatabaseName(databaseName);
+		table.setObjectType(objectType);
+		table.setTableName(tableName);
+		table.setTableDescription(tableDescription);
+
+		return table;
+	}
+
+	static List<ForeignKeyDto> toForeignKeys(List<Object[]> rows) {
+		return rows.stream().map(row -> new ForeignKeyDto((String) row[0], (String) row[1], (String) row[2],
+				(String) row[3], (String) row[4])).toList();
+	}
+
+	/**
+	 * Maps {@code sys.objects} rows laid out as name, type code and modify date.
+	 * Objects of other types are skipped.
+	 */
+	static List<CatalogObjectDto> toObjects(List<Object[]> rows) {
+		List<CatalogObjectDto> objects = new ArrayList<>();
+
+		for (Object[] row : rows) {
+			CatalogObjectType.fromCode(row[1] != null ? row[1].toString() : null)
+					.ifPresent(objectType -> objects.add(newObject((String) row[0], objectType, toLocalDateTime(row[2]),
+							row[3] instanceof Number number ? number.intValue() : null)));
+		}
+
+		return objects;
+	}
+
+	static CatalogObjectDto newObject(String objectName, CatalogObjectType objectType, LocalDateTime modifyDate) {
+		return newObject(objectName, objectType, modifyDate, null);
+	}
+
+	static CatalogObjectDto newObject(String objectName, CatalogObjectType objectType, LocalDateTime modifyDate,
+			Integer objectId) {
+		return new CatalogObjectDto(objectName.toUpperCase(StringUtil.LOCALE), objectType, modifyDate, objectId);
+	}
+
+	private static ColumnMetadataDto toColumn(Object[] row) {
+		String allowsNull = row[5] != null ? row[5].toString() : null;
+		String identityFlag = row[10] != null ? row[10].toString() : null;
+		boolean primaryKey = row[9] instanceof Number number && number.intValue() > 0;
+
+		return new ColumnMetadataDto((String) row[2], (String) row[3], (String) row[4], null, null, null, allowsNull,
+				identityFlag, toInt(row[6]), toInt(row[7]), toInt(row[8]), primaryKey);
+	}
+
+	private static int toInt(Object value) {
+		return value instanceof Number number ? number.intValue() : 0;
+	}
+
+	private static LocalDateTime toLocalDateTime(Object value) {
+		return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+	}
+
+}
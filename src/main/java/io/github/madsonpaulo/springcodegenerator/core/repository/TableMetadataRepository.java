@@ -1,14 +1,121 @@
 package io.github.madsonpaulo.springcodegenerator.core.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseCatalogDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
 
 public interface TableMetadataRepository {
-	List<Object[]> fetchTableInfo(String databaseName, String tableName);
+	/**
+	 * Fetches the columns of all the given tables in a single round trip. Each
+	 * result holds the table description and its raw columns, ordered by column
+	 * id; Java names and types are left for the service to resolve. Tables that do
+	 * not exist are absent from the result.
+	 */
+	List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames);
 
-	List<Object[]> fetchViewInfo(String databaseName, String viewName);
+	/**
+	 * Fetches the columns, primary keys and {@link TableMetadataDto#getForeignKeys()
+	 * foreign keys} of all the given tables together. The SQL Server
+	 * implementations do it in a single statement unless
+	 * {@code catalog.fetch.combined-details} is off; the default combines
+	 * {@link #fetchTableInfo(String, Collection)} and
+	 * {@link #fetchForeignKeys(String, Collection)} without modifying their
+	 * results.
+	 */
+	default List<TableMetadataDto> fetchTableDetails(String databaseName, Collection<String> tableNames) {
+		Map<String, List<ForeignKeyDto>> foreignKeys = DatabaseCatalogDto
+				.indexForeignKeys(fetchForeignKeys(databaseName, tableNames));
 
-	List<ForeignKeyDto> fetchForeignKeys(String databaseName, String tableName);
+		return fetchTableInfo(databaseName, tableNames).stream().map(tableInfo -> {
+			TableMetadataDto table = CatalogRowMapper.newTable(tableInfo.getDatabaseName(), tableInfo.getTableName(),
+					tableInfo.getTableDescription(), tableInfo.getObjectType());
+			table.getColumns().addAll(tableInfo.getColumns());
+			table.getForeignKeys().addAll(
+					foreignKeys.getOrDefault(tableInfo.getTableName().toUpperCase(StringUtil.LOCALE), List.of()));
+
+			return table;
+		}).toList();
+	}
+
+	/**
+	 * Fetches the columns of all the given views in a single round trip.
+	 */
+	List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames);
+
+	/**
+	 * Fetches the foreign keys of all the given tables in a single round trip.
+	 * Each result carries its {@link ForeignKeyDto#getSourceTableName() source
+	 * table}.
+	 */
+	List<ForeignKeyDto> fetchForeignKeys(String databaseName, Collection<String> tableNames);
+
+	/**
+	 * Tells whether the database exists, before its catalog is loaded in bulk.
+	 * Repositories that serve any database name answer {@code true}.
+	 */
+	default boolean databaseExists(String databaseName) {
+		return true;
+	}
+
+	/**
+	 * Fetches the columns of every table of the database in bulk.
+	 */
+	List<TableMetadataDto> fetchAllTableInfo(String databaseName);
+
+	/**
+	 * Fetches the columns of every view of the database in bulk.
+	 */
+	List<TableMetadataDto> fetchAllViewInfo(String databaseName);
+
+	/**
+	 * Fetches every foreign key of the database in bulk.
+	 */
+	List<ForeignKeyDto> fetchAllForeignKeys(String databaseName);
+
+	/**
+	 * Looks the given names up in {@code sys.objects} in a single round trip,
+	 * returning the type, {@code modify_date} and, when known, {@code object_id}
+	 * of each table or view found, with upper-cased names. Missing objects are
+	 * absent from the result.
+	 */
+	List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames);
+
+	/**
+	 * Lists, in a single round trip and ordered by name, the tables and views
+	 * whose names match at least one of the include patterns and none of the
+	 * exclude patterns, in SQL Server {@code LIKE} syntax. Results carry the same
+	 * attributes as {@link #fetchObjects(String, Collection)}.
+	 */
+	List<CatalogObjectDto> fetchMatchingObjects(String databaseName, Collection<String> includePatterns,
+			Collection<String> excludePatterns);
+
+	/**
+	 * Fetches the catalog {@code modify_date} of the given tables and views,
+	 * keyed by upper-cased object name. Missing objects are absent from the map.
+	 */
+	default Map<String, LocalDateTime> fetchModifyDates(String databaseName, Collection<String> objectNames) {
+		return fetchObjects(databaseName, objectNames).stream().collect(Collectors.toMap(
+				CatalogObjectDto::getObjectName, CatalogObjectDto::getModifyDate, (date1, date2) -> date1));
+	}
+
+	default List<TableMetadataDto> fetchTableInfo(String databaseName, String tableName) {
+		return fetchTableInfo(databaseName, List.of(tableName));
+	}
+
+	default List<TableMetadataDto> fetchViewInfo(String databaseName, String viewName) {
+		return fetchViewInfo(databaseName, List.of(viewName));
+	}
+
+	default List<ForeignKeyDto> fetchForeignKeys(String databaseName, String tableName) {
+		return fetchForeignKeys(databaseName, List.of(tableName));
+	}
 
 }
@@ -1,142 +1,156 @@
 package io.github.madsonpaulo.springcodegenerator.core.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
-import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 @Repository
-@Profile("!mock")
+@Profile("!mock & !snapshot & !synthetic")
+@ConditionalOnProperty(name = "catalog.repository.type", havingValue = "jpa", matchIfMissing = true)
 public class TableMetadataRepositoryImpl implements TableMetadataRepository {
 
+	private final boolean combinedDetails;
+
 	@PersistenceContext
 	private EntityManager entityManager;
 
-	@SuppressWarnings("unchecked")
-	public List<Object[]> fetchTableInfo(String databaseName, String tableName) {
-		String sql = """
-				SELECT
-				    t.name AS nome_tabela,
-				    ep.value AS descricao_tabela,
-				    c.name AS nome_coluna,
-				    ty.name AS tipo_coluna,
-				    epc.value AS descricao_coluna,
-				    CASE WHEN c.is_nullable = 1 THEN 'Y' ELSE 'N' END AS permite_nulo,
-				    c.max_length AS comprimento,
-				    c.precision as precisao,
-				    c.scale AS escala,
-				    ic.key_ordinal AS chave_primaria,
-				    CASE WHEN c.is_identity = 1 THEN 'Y' ELSE 'N' END AS tipo_identity
-				FROM
-				    %s.sys.tables t
-				JOIN
-				    %s.sys.columns c ON t.object_id = c.object_id
-				JOIN
-				    %s.sys.types ty ON c.user_type_id = ty.user_type_id
-				LEFT JOIN
-				    %s.sys.extended_properties ep ON ep.major_id = t.object_id AND ep.minor_id = 0 AND ep.name = 'MS_Description'
-				LEFT JOIN
-				    %s.sys.extended_properties epc ON epc.major_id = c.object_id AND epc.minor_id = c.column_id AND epc.name = 'MS_Description'
-				OUTER APPLY (
-				    SELECT ic.key_ordinal
-				    FROM %s.sys.index_columns ic
-				    JOIN %s.sys.indexes i ON ic.object_id = i.object_id AND ic.index_id = i.index_id
-				    WHERE ic.object_id = t.object_id
-				      AND ic.column_id = c.column_id
-				      AND i.is_primary_key = 1
-				) ic
-				WHERE
-				    t.name = '%s'
-				    AND ty.name <> 'sysname'
-				ORDER BY
-				    c.column_id
-				"""
-				.formatted(databaseName, databaseName, databaseName, databaseName, databaseName, databaseName,
-						databaseName, tableName);
+	public TableMetadataRepositoryImpl(@Value("${catalog.fetch.combined-details:true}") boolean combinedDetails) {
+		this.combinedDetails = combinedDetails;
+	}
 
-		return entityManager.createNativeQuery(sql).getResultList();
+	@Override
+	public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+		if (tableNames.isEmpty()) {
+			return List.of();
+		}
+
+		return CatalogRowMapper.toTables(databaseName,
+				fetchRows(CatalogQueries.TABLE_INFO_QUERY.forDatabase(databaseName), tableNames),
+				CatalogObjectType.TABLE);
 	}
 
-	@SuppressWarnings("unchecked")
-	public List<Object[]> fetchViewInfo(String databaseName, String viewName) {
-		String sql = """
-				    SELECT
-				        v.name AS nome_tabela,
-				        ep.value AS descricao_tabela,
-				        c.name AS nome_coluna,
-				        ty.name AS tipo_coluna,
-				        epc.value AS descricao_coluna,
-				        CASE WHEN c.is_nullable = 1 THEN 'Y' ELSE 'N' END AS permite_nulo,
-				        c.max_length AS comprimento,
-				        c.precision as precisao,
-				        c.scale AS escala,
-				        null AS chave_primaria,
-				        CASE WHEN c.is_identity = 1 THEN 'Y' ELSE 'N' END AS tipo_identity
-				    FROM
-				        %s.sys.views v
-				    JOIN
-				        %s.sys.columns c ON v.object_id = c.object_id
-				    JOIN
-				        %s.sys.types ty ON c.user_type_id = ty.user_type_id
-				    LEFT JOIN
-				        %s.sys.extended_properties ep ON ep.major_id = v.object_id AND ep.minor_id = 0 AND ep.name = 'MS_Description'
-				    LEFT JOIN
-				        %s.sys.extended_properties epc ON epc.major_id = c.object_id AND epc.minor_id = c.column_id AND epc.name = 'MS_Description'
-				    WHERE
-				        v.name = '%s'
-				        AND ty.name <> 'sysname'
-				    ORDER BY
-				        c.column_id
-				"""
-				.formatted(databaseName, databaseName, databaseName, databaseName, databaseName, viewName);
+	@Override
+	public List<TableMetadataDto> fetchTableDetails(String databaseName, Collection<String> tableNames) {
+		if (tableNames.isEmpty()) {
+			return List.of();
+		}
+		if (!combinedDetails) {
+			return TableMetadataRepository.super.fetchTableDetails(databaseName, tableNames);
+		}
 
-		return entityManager.createNativeQuery(sql).getResultList();
+		String sql = CatalogQueries.TABLE_DETAILS_QUERY.forDatabase(databaseName);
+
+		try {
+			return CatalogRowMapper.toTableDetails(databaseName, fetchRows(sql, tableNames));
+		} catch (Exception e) {
+			throw CatalogQueries.tableDetailsException(String.join(", ", tableNames), e);
+		}
 	}
 
-	@SuppressWarnings("unchecked")
-	public List<ForeignKeyDto> fetchForeignKeys(String databaseName, String tableName) {
-		String sql = """
-				SELECT
-				    c.name AS colunaAtual,
-				    fk.name AS nomeChaveEstrangeira,
-				    rt.name AS tabelaDestino,
-				    rc.name AS colunaDestino
-				FROM
-				    %s.sys.foreign_keys AS fk
-				JOIN
-				    %s.sys.tables AS t ON fk.parent_object_id = t.object_id
-				JOIN
-				    %s.sys.foreign_key_columns AS fkc ON fk.object_id = fkc.constraint_object_id
-				JOIN
-				    %s.sys.columns AS c ON fkc.parent_column_id = c.column_id AND c.object_id = t.object_id
-				JOIN
-				    %s.sys.tables AS rt ON fk.referenced_object_id = rt.object_id
-				JOIN
-				    %s.sys.columns AS rc ON fkc.referenced_column_id = rc.column_id AND rc.object_id = rt.object_id
-				WHERE
-				    t.name = '%s'
-				""".formatted(databaseName, databaseName, databaseName, databaseName, databaseName, databaseName,
-				tableName);
+	@Override
+	public List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames) {
+		if (viewNames.isEmpty()) {
+			return List.of();
+		}
+
+		return CatalogRowMapper.toTables(databaseName,
+				fetchRows(CatalogQueries.VIEW_INFO_QUERY.forDatabase(databaseName), viewNames), CatalogObjectType.VIEW);
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchForeignKeys(String databaseName, Collection<String> tableNames) {
+		if (tableNames.isEmpty()) {
+			return List.of();
+		}
+
+		String sql = CatalogQueries.FOREIGN_KEYS_QUERY.forDatabase(databaseName);
 
 		try {
-			List<Object[]> results = entityManager.createNativeQuery(sql).getResultList();
+			return CatalogRowMapper.toForeignKeys(fetchRows(sql, tableNames));
+		} catch (Exception e) {
+			throw CatalogQueries.foreignKeysException(String.join(", ", tableNames), e);
+		}
+	}
 
-			return results.stream()
-					.map(row -> new ForeignKeyDto((String) row[0], (String) row[1], (String) row[2], (String) row[3]))
-					.toList();
+	@Override
+	public boolean databaseExists(String databaseName) {
+		Number exists = (Number) entityManager.createNativeQuery(CatalogQueries.DATABASE_EXISTS_SQL)
+				.setParameter(CatalogQueries.PARAM_DATABASE, databaseName).getSingleResult();
+
+		return exists.intValue() == 1;
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllTableInfo(String databaseName) {
+		return CatalogRowMapper.toTables(databaseName,
+				fetchRows(CatalogQueries.ALL_TABLE_INFO_QUERY.forDatabase(databaseName)), CatalogObjectType.TABLE);
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllViewInfo(String databaseName) {
+		return CatalogRowMapper.toTables(databaseName,
+				fetchRows(CatalogQueries.ALL_VIEW_INFO_QUERY.forDatabase(databaseName)), CatalogObjectType.VIEW);
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchAllForeignKeys(String databaseName) {
+		String sql = CatalogQueries.ALL_FOREIGN_KEYS_QUERY.forDatabase(databaseName);
+
+		try {
+			return CatalogRowMapper.toForeignKeys(fetchRows(sql));
 		} catch (Exception e) {
-			String message = String.format(
-					"Unable to retrieve the list of foreign keys of the table '%s'. Please verify SELECT permissions for the configured database user.",
-					tableName);
+			throw CatalogQueries.foreignKeysException(databaseName, e);
+		}
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+		if (objectNames.isEmpty()) {
+			return List.of();
+		}
+
+		return CatalogRowMapper.toObjects(fetchRows(CatalogQueries.OBJECTS_QUERY.forDatabase(databaseName), objectNames));
+	}
 
-			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, tableName, message, e);
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<CatalogObjectDto> fetchMatchingObjects(String databaseName, Collection<String> includePatterns,
+			Collection<String> excludePatterns) {
+		if (includePatterns.isEmpty()) {
+			return List.of();
 		}
+
+		return CatalogRowMapper.toObjects(entityManager
+				.createNativeQuery(CatalogQueries.MATCHING_OBJECTS_QUERY.forDatabase(databaseName))
+				.setParameter(CatalogQueries.PARAM_INCLUDES, String.join(",", includePatterns))
+				.setParameter(CatalogQueries.PARAM_EXCLUDES, String.join(",", excludePatterns)).getResultList());
+	}
+
+	/**
+	 * Runs a cached catalog statement binding the object names as a single
+	 * comma-separated parameter, so that the statement text and its plan do not
+	 * depend on how many names are requested.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object[]> fetchRows(String sql, Collection<String> names) {
+		return entityManager.createNativeQuery(sql).setParameter(CatalogQueries.PARAM_NAMES, String.join(",", names))
+				.getResultList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object[]> fetchRows(String sql) {
+		return entityManager.createNativeQuery(sql).getResultList();
 	}
 
 }
@@ -0,0 +1,214 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ColumnMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+
+/**
+ * Plain JDBC implementation of the catalog queries.
+ * <p>
+ * Rows are streamed with a tuned fetch size straight into the typed DTOs,
+ * without going through the JPA EntityManager or materializing intermediate
+ * {@code Object[]} lists. Enabled with {@code catalog.repository.type=jdbc}.
+ */
+@Repository
+@Profile("!mock & !snapshot & !synthetic")
+@ConditionalOnProperty(name = "catalog.repository.type", havingValue = "jdbc")
+public class TableMetadataRepositoryJdbc implements TableMetadataRepository {
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final boolean combinedDetails;
+
+	public TableMetadataRepositoryJdbc(DataSource dataSource,
+			@Value("${catalog.jdbc.fetch-size:1000}") int fetchSize,
+			@Value("${catalog.fetch.combined-details:true}") boolean combinedDetails) {
+		JdbcTemplate template = new JdbcTemplate(dataSource);
+		template.setFetchSize(fetchSize);
+
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+		this.combinedDetails = combinedDetails;
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+		if (tableNames.isEmpty()) {
+			return List.of();
+		}
+
+		return queryTables(databaseName, CatalogQueries.TABLE_INFO_QUERY.forDatabase(databaseName),
+				namesParameter(tableNames), CatalogObjectType.TABLE, false);
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchTableDetails(String databaseName, Collection<String> tableNames) {
+		if (tableNames.isEmpty()) {
+			return List.of();
+		}
+		if (!combinedDetails) {
+			return TableMetadataRepository.super.fetchTableDetails(databaseName, tableNames);
+		}
+
+		String sql = CatalogQueries.TABLE_DETAILS_QUERY.forDatabase(databaseName);
+
+		try {
+			return queryTables(databaseName, sql, namesParameter(tableNames), CatalogObjectType.TABLE, true);
+		} catch (Exception e) {
+			throw CatalogQueries.tableDetailsException(String.join(", ", tableNames), e);
+		}
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames) {
+		if (viewNames.isEmpty()) {
+			return List.of();
+		}
+
+		return queryTables(databaseName, CatalogQueries.VIEW_INFO_QUERY.forDatabase(databaseName),
+				namesParameter(viewNames), CatalogObjectType.VIEW, false);
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchForeignKeys(String databaseName, Collection<String> tableNames) {
+		if (tableNames.isEmpty()) {
+			return List.of();
+		}
+
+		try {
+			return queryForeignKeys(CatalogQueries.FOREIGN_KEYS_QUERY.forDatabase(databaseName),
+					namesParameter(tableNames));
+		} catch (Exception e) {
+			throw CatalogQueries.foreignKeysException(String.join(", ", tableNames), e);
+		}
+	}
+
+	@Override
+	public boolean databaseExists(String databaseName) {
+		Integer exists = jdbcTemplate.queryForObject(CatalogQueries.DATABASE_EXISTS_SQL,
+				new MapSqlParameterSource(CatalogQueries.PARAM_DATABASE, databaseName), Integer.class);
+
+		return exists != null && exists == 1;
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllTableInfo(String databaseName) {
+		return queryTables(databaseName, CatalogQueries.ALL_TABLE_INFO_QUERY.forDatabase(databaseName),
+				EmptySqlParameterSource.INSTANCE, CatalogObjectType.TABLE, false);
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllViewInfo(String databaseName) {
+		return queryTables(databaseName, CatalogQueries.ALL_VIEW_INFO_QUERY.forDatabase(databaseName),
+				EmptySqlParameterSource.INSTANCE, CatalogObjectType.VIEW, false);
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchAllForeignKeys(String databaseName) {
+		try {
+			return queryForeignKeys(CatalogQueries.ALL_FOREIGN_KEYS_QUERY.forDatabase(databaseName),
+					EmptySqlParameterSource.INSTANCE);
+		} catch (Exception e) {
+			throw CatalogQueries.foreignKeysException(databaseName, e);
+		}
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+		if (objectNames.isEmpty()) {
+			return List.of();
+		}
+
+		return queryObjects(CatalogQueries.OBJECTS_QUERY.forDatabase(databaseName), namesParameter(objectNames));
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchMatchingObjects(String databaseName, Collection<String> includePatterns,
+			Collection<String> excludePatterns) {
+		if (includePatterns.isEmpty()) {
+			return List.of();
+		}
+
+		return queryObjects(CatalogQueries.MATCHING_OBJECTS_QUERY.forDatabase(databaseName),
+				new MapSqlParameterSource(CatalogQueries.PARAM_INCLUDES, String.join(",", includePatterns))
+						.addValue(CatalogQueries.PARAM_EXCLUDES, String.join(",", excludePatterns)));
+	}
+
+	private List<CatalogObjectDto> queryObjects(String sql, SqlParameterSource parameters) {
+		List<CatalogObjectDto> objects = new ArrayList<>();
+		jdbcTemplate.query(sql, parameters,
+				(RowCallbackHandler) rs -> CatalogObjectType.fromCode(rs.getString(2))
+						.ifPresent(objectType -> objects.add(CatalogRowMapper.newObject(rs.getString(1), objectType,
+								rs.getTimestamp(3).toLocalDateTime(), rs.getInt(4)))));
+
+		return objects;
+	}
+
+	/**
+	 * Streams column rows ordered by table name, starting a new table whenever
+	 * the name changes. Table detail rows also carry the aggregated foreign keys
+	 * of each column.
+	 */
+	private List<TableMetadataDto> queryTables(String databaseName, String sql, SqlParameterSource parameters,
+			CatalogObjectType objectType, boolean withForeignKeys) {
+		List<TableMetadataDto> tables = new ArrayList<>();
+
+		jdbcTemplate.query(sql, parameters, (RowCallbackHandler) rs -> {
+			String tableName = rs.getString("nome_tabela").toUpperCase(StringUtil.LOCALE);
+			TableMetadataDto current = tables.isEmpty() ? null : tables.get(tables.size() - 1);
+
+			if (current == null || !current.getTableName().equals(tableName)) {
+				current = CatalogRowMapper.newTable(databaseName, tableName, rs.getString("descricao_tabela"),
+						objectType);
+				tables.add(current);
+			}
+
+			current.getColumns().add(toColumn(rs));
+
+			if (withForeignKeys) {
+				CatalogRowMapper.addForeignKeys(current, rs.getString("nome_coluna"), rs.getString("nomes_chave"),
+						rs.getString("tabelas_destino"), rs.getString("colunas_destino"));
+			}
+		});
+
+		return tables;
+	}
+
+	private List<ForeignKeyDto> queryForeignKeys(String sql, SqlParameterSource parameters) {
+		return jdbcTemplate.query(sql, parameters, (rs, rowNum) -> new ForeignKeyDto(rs.getString(1),
+				rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+	}
+
+	private static ColumnMetadataDto toColumn(ResultSet rs) throws SQLException {
+		boolean primaryKey = rs.getInt("chave_primaria") > 0;
+
+		return new ColumnMetadataDto(rs.getString("nome_coluna"), rs.getString("tipo_coluna"),
+				rs.getString("descricao_coluna"), null, null, null, rs.getString("permite_nulo"),
+				rs.getString("tipo_identity"), rs.getInt("comprimento"), rs.getInt("precisao"), rs.getInt("escala"),
+				primaryKey);
+	}
+
+	private static SqlParameterSource namesParameter(Collection<String> names) {
+		return new MapSqlParameterSource(CatalogQueries.PARAM_NAMES, String.join(",", names));
+	}
+
+}
@@ -1,18 +1,80 @@
 package io.github.madsonpaulo.springcodegenerator.core.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.utils.NamePatternUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
 
 @Repository
 @Profile("mock")
 public class TableMetadataRepositoryMock implements TableMetadataRepository {
+	private static final List<String> TABLE_NAMES = List.of("T999TEST", "T999DOMA", "T999NULL");
+	private static final List<String> VIEW_NAMES = List.of("V999VIEW");
+	private static final LocalDateTime MODIFY_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
 
 	@Override
-	public List<Object[]> fetchTableInfo(String databaseName, String tableName) {
+	public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+		return CatalogRowMapper.toTables(databaseName,
+				tableNames.stream().flatMap(tableName -> tableRows(tableName).stream()).toList(),
+				CatalogObjectType.TABLE);
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames) {
+		return CatalogRowMapper.toTables(databaseName,
+				viewNames.stream().flatMap(viewName -> viewRows(viewName).stream()).toList(), CatalogObjectType.VIEW);
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchForeignKeys(String databaseName, Collection<String> tableNames) {
+		return tableNames.stream().flatMap(tableName -> foreignKeys(tableName).stream()).toList();
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllTableInfo(String databaseName) {
+		return fetchTableInfo(databaseName, TABLE_NAMES);
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllViewInfo(String databaseName) {
+		return fetchViewInfo(databaseName, VIEW_NAMES);
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchAllForeignKeys(String databaseName) {
+		return fetchForeignKeys(databaseName, TABLE_NAMES);
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+		return objectNames.stream().map(name -> name.toUpperCase(StringUtil.LOCALE))
+				.filter(name -> TABLE_NAMES.contains(name) || VIEW_NAMES.contains(name)).distinct()
+				.map(name -> CatalogRowMapper.newObject(name,
+						VIEW_NAMES.contains(name) ? CatalogObjectType.VIEW : CatalogObjectType.TABLE, MODIFY_DATE))
+				.toList();
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchMatchingObjects(String databaseName, Collection<String> includePatterns,
+			Collection<String> excludePatterns) {
+		Predicate<String> matcher = NamePatternUtil.matcher(includePatterns, excludePatterns);
+
+		return fetchObjects(databaseName,
+				Stream.concat(TABLE_NAMES.stream(), VIEW_NAMES.stream()).filter(matcher).sorted().toList());
+	}
+
+	private List<Object[]> tableRows(String tableName) {
 		String tableName1 = "T999TEST";
 		if (tableName.equalsIgnoreCase(tableName1)) {
 			String tableDesc = "Test table containing many SQL types. Also, all columns have perfect descriptions.";
@@ -53,8 +115,7 @@ public class TableMetadataRepositoryMock implements TableMetadataRepository {
 		return List.of();
 	}
 
-	@Override
-	public List<Object[]> fetchViewInfo(String databaseName, String viewName) {
+	private List<Object[]> viewRows(String viewName) {
 		String viewName1 = "V999VIEW";
 		if (viewName.equalsIgnoreCase(viewName1)) {
 			String viewDesc = null;
@@ -65,23 +126,22 @@ public class TableMetadataRepositoryMock implements TableMetadataRepository {
 		return List.of();
 	}
 
-	@Override
-	public List<ForeignKeyDto> fetchForeignKeys(String databaseName, String tableName) {
+	private List<ForeignKeyDto> foreignKeys(String tableName) {
 		String tableName1 = "T999TEST";
 		if (tableName.equalsIgnoreCase(tableName1)) {
-			return List.of(new ForeignKeyDto("CD_DOM", "FK_TEST_DOMA_01", "T999DOMA", "CD_DOM"));
+			return List.of(new ForeignKeyDto(tableName1, "CD_DOM", "FK_TEST_DOMA_01", "T999DOMA", "CD_DOM"));
 		}
 
 		String tableName2 = "T999DOMA";
 		if (tableName.equalsIgnoreCase(tableName2)) {
-			return List.of(new ForeignKeyDto("CD_DFK", "FK_DOMA_FFKY_01", "T999FFKY", "CD_DFK"),
-					new ForeignKeyDto("CD_DFK", "FK_DOMA_SFKY_02", "T999SFKY", "CD_DFK"));
+			return List.of(new ForeignKeyDto(tableName2, "CD_DFK", "FK_DOMA_FFKY_01", "T999FFKY", "CD_DFK"),
+					new ForeignKeyDto(tableName2, "CD_DFK", "FK_DOMA_SFKY_02", "T999SFKY", "CD_DFK"));
 		}
 
 		String tableName3 = "T999NULL";
 		if (tableName.equalsIgnoreCase(tableName3)) {
-			return List.of(new ForeignKeyDto("CD_FPK", "FK_NULL_FNUL_01", "T999FNUL", "CD_FPK"),
-					new ForeignKeyDto("CD_SPK", "FK_NULL_SNUL_02", "T999SNUL", "CD_SPK"));
+			return List.of(new ForeignKeyDto(tableName3, "CD_FPK", "FK_NULL_FNUL_01", "T999FNUL", "CD_FPK"),
+					new ForeignKeyDto(tableName3, "CD_SPK", "FK_NULL_SNUL_02", "T999SNUL", "CD_SPK"));
 		}
 
 		return List.of();
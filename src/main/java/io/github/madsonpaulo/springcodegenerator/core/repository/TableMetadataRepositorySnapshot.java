@@ -0,0 +1,157 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogSnapshotDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseCatalogDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.utils.CatalogSnapshotUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.NamePatternUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves catalog metadata from snapshot files exported by
+ * {@code GET /v1/catalog/{databaseName}/snapshot}, so code can be generated
+ * without any database connection.
+ */
+@Slf4j
+@Repository
+@Profile("snapshot")
+public class TableMetadataRepositorySnapshot implements TableMetadataRepository {
+	private final Map<String, SnapshotCatalog> catalogs = new HashMap<>();
+
+	public TableMetadataRepositorySnapshot(ObjectMapper objectMapper,
+			@Value("${catalog.snapshot.files:}") List<String> snapshotFiles) {
+		for (String snapshotFile : snapshotFiles) {
+			if (snapshotFile.isBlank()) {
+				continue;
+			}
+
+			try {
+				CatalogSnapshotDto snapshot = CatalogSnapshotUtil.read(objectMapper, Path.of(snapshotFile.strip()));
+				snapshot.getTables().forEach(table -> table.setObjectType(CatalogObjectType.TABLE));
+				snapshot.getViews().forEach(view -> view.setObjectType(CatalogObjectType.VIEW));
+				catalogs.put(snapshot.getDatabaseName().toUpperCase(StringUtil.LOCALE), new SnapshotCatalog(snapshot));
+
+				log.info("Loaded catalog snapshot of {} exported at {}: {} tables, {} views", snapshot.getDatabaseName(),
+						snapshot.getExportedAt(), snapshot.getTables().size(), snapshot.getViews().size());
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not read catalog snapshot " + snapshotFile, e);
+			}
+		}
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+		Map<String, TableMetadataDto> tables = catalog(databaseName).tables().getTablesByName();
+		return tableNames.stream().map(name -> tables.get(name.toUpperCase(StringUtil.LOCALE)))
+				.filter(Objects::nonNull).distinct().toList();
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames) {
+		Map<String, TableMetadataDto> views = catalog(databaseName).views().getTablesByName();
+		return viewNames.stream().map(name -> views.get(name.toUpperCase(StringUtil.LOCALE))).filter(Objects::nonNull)
+				.distinct().toList();
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchForeignKeys(String databaseName, Collection<String> tableNames) {
+		Map<String, List<ForeignKeyDto>> foreignKeys = catalog(databaseName).tables().getForeignKeysByTable();
+		return tableNames.stream().map(name -> name.toUpperCase(StringUtil.LOCALE)).distinct()
+				.flatMap(name -> foreignKeys.getOrDefault(name, List.of()).stream()).toList();
+	}
+
+	@Override
+	public boolean databaseExists(String databaseName) {
+		return catalogs.containsKey(databaseName.toUpperCase(StringUtil.LOCALE));
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllTableInfo(String databaseName) {
+		return catalog(databaseName).snapshot().getTables();
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllViewInfo(String databaseName) {
+		return catalog(databaseName).snapshot().getViews();
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchAllForeignKeys(String databaseName) {
+		return catalog(databaseName).snapshot().getForeignKeys();
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+		SnapshotCatalog catalog = catalog(databaseName);
+		Map<String, LocalDateTime> modifyDates = catalog.snapshot().getModifyDates();
+
+		return objectNames.stream().map(name -> name.toUpperCase(StringUtil.LOCALE)).distinct().<CatalogObjectDto>mapMulti(
+				(name, objects) -> {
+					if (catalog.tables().getTablesByName().containsKey(name)) {
+						objects.accept(CatalogRowMapper.newObject(name, CatalogObjectType.TABLE, modifyDates.get(name)));
+					} else if (catalog.views().getTablesByName().containsKey(name)) {
+						objects.accept(CatalogRowMapper.newObject(name, CatalogObjectType.VIEW, modifyDates.get(name)));
+					}
+				}).toList();
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchMatchingObjects(String databaseName, Collection<String> includePatterns,
+			Collection<String> excludePatterns) {
+		SnapshotCatalog catalog = catalog(databaseName);
+		Predicate<String> matcher = NamePatternUtil.matcher(includePatterns, excludePatterns);
+
+		return fetchObjects(databaseName,
+				Stream.concat(catalog.tables().getTableNames().stream(), catalog.views().getTableNames().stream())
+						.filter(matcher).sorted().toList());
+	}
+
+	private SnapshotCatalog catalog(String databaseName) {
+		SnapshotCatalog catalog = catalogs.get(databaseName.toUpperCase(StringUtil.LOCALE));
+
+		if (catalog == null) {
+			throw new CodeGenerationException(HttpStatus.NOT_FOUND, null,
+					"No catalog snapshot was loaded for database " + databaseName + ".");
+		}
+
+		return catalog;
+	}
+
+	private record SnapshotCatalog(CatalogSnapshotDto snapshot, DatabaseCatalogDto tables, DatabaseCatalogDto views) {
+
+		SnapshotCatalog(CatalogSnapshotDto snapshot) {
+			this(snapshot,
+					new DatabaseCatalogDto(snapshot.getDatabaseName(), snapshot.getExportedAt(),
+							DatabaseCatalogDto.indexTables(snapshot.getTables()),
+							DatabaseCatalogDto.indexForeignKeys(snapshot.getForeignKeys())),
+					new DatabaseCatalogDto(snapshot.getDatabaseName(), snapshot.getExportedAt(),
+							DatabaseCatalogDto.indexTables(snapshot.getViews()), Map.of()));
+		}
+
+	}
+
+}
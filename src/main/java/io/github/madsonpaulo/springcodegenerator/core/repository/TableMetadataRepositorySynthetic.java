@@ -0,0 +1,213 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.utils.NamePatternUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+
+/**
+ * Generates a synthetic catalog of configurable size, for load tests and
+ * benchmarks without a database.
+ * <p>
+ * Tables are named {@code TSYN000000} to {@code TSYNnnnnnn} and views
+ * {@code VSYN000000} onwards. Every object is generated on demand from the seed
+ * and its own index only, so the same configuration always yields the same
+ * catalog, whatever the order or batching of the requests.
+ */
+@Repository
+@Profile("synthetic")
+public class TableMetadataRepositorySynthetic implements TableMetadataRepository {
+	static final String TABLE_PREFIX = "TSYN";
+	static final String VIEW_PREFIX = "VSYN";
+	private static final String NAME_FORMAT = "%s%06d";
+	private static final LocalDateTime MODIFY_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	/**
+	 * Column types drawn uniformly, covering every SQL type the generator maps to
+	 * a Java type: type, length, precision and scale.
+	 */
+	private static final List<Object[]> COLUMN_TYPES = List.of(new Object[] { "decimal", 5, 5, 0 },
+			new Object[] { "decimal", 9, 18, 0 }, new Object[] { "decimal", 9, 18, 2 },
+			new Object[] { "numeric", 5, 9, 0 }, new Object[] { "numeric", 9, 15, 4 }, new Object[] { "bit", 1, 1, 0 },
+			new Object[] { "tinyint", 1, 3, 0 }, new Object[] { "smallint", 2, 5, 0 }, new Object[] { "int", 4, 10, 0 },
+			new Object[] { "bigint", 8, 19, 0 }, new Object[] { "nchar", 20, 0, 0 },
+			new Object[] { "nvarchar", 200, 0, 0 }, new Object[] { "char", 10, 0, 0 },
+			new Object[] { "varchar", 100, 0, 0 }, new Object[] { "text", 16, 0, 0 },
+			new Object[] { "uniqueidentifier", 16, 0, 0 }, new Object[] { "binary", 8, 0, 0 },
+			new Object[] { "varbinary", 50, 0, 0 }, new Object[] { "image", 16, 0, 0 }, new Object[] { "date", 3, 10, 0 },
+			new Object[] { "time", 5, 16, 7 }, new Object[] { "datetime", 8, 23, 3 },
+			new Object[] { "datetime2", 8, 27, 7 }, new Object[] { "smalldatetime", 4, 16, 0 },
+			new Object[] { "datetimeoffset", 10, 34, 7 }, new Object[] { "float", 8, 53, 0 },
+			new Object[] { "real", 4, 24, 0 }, new Object[] { "money", 8, 19, 4 },
+			new Object[] { "smallmoney", 4, 10, 4 });
+
+	private static final List<String> WORDS = List.of("account", "address", "amount", "balance", "branch", "category",
+			"channel", "contract", "customer", "delivery", "document", "employee", "invoice", "item", "ledger",
+			"location", "merchant", "order", "partner", "payment", "period", "product", "quantity", "region",
+			"request", "schedule", "segment", "status", "supplier", "transfer", "vehicle", "warehouse");
+
+	private final int tableCount;
+	private final int viewCount;
+	private final int columnsPerTable;
+	private final double compositePkRatio;
+	private final int foreignKeysPerTable;
+	private final int descriptionWords;
+	private final long seed;
+
+	public TableMetadataRepositorySynthetic(@Value("${catalog.synthetic.tables:1000}") int tableCount,
+			@Value("${catalog.synthetic.views:0}") int viewCount,
+			@Value("${catalog.synthetic.columns-per-table:20}") int columnsPerTable,
+			@Value("${catalog.synthetic.composite-pk-ratio:0.1}") double compositePkRatio,
+			@Value("${catalog.synthetic.foreign-keys-per-table:2}") int foreignKeysPerTable,
+			@Value("${catalog.synthetic.description-words:4}") int descriptionWords,
+			@Value("${catalog.synthetic.seed:42}") long seed) {
+		this.tableCount = tableCount;
+		this.viewCount = viewCount;
+		this.columnsPerTable = Math.max(columnsPerTable, 2 + foreignKeysPerTable);
+		this.compositePkRatio = compositePkRatio;
+		this.foreignKeysPerTable = tableCount > 0 ? foreignKeysPerTable : 0;
+		this.descriptionWords = descriptionWords;
+		this.seed = seed;
+	}
+
+	public static String tableName(int index) {
+		return NAME_FORMAT.formatted(TABLE_PREFIX, index);
+	}
+
+	public static String viewName(int index) {
+		return NAME_FORMAT.formatted(VIEW_PREFIX, index);
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+		return CatalogRowMapper.toTables(databaseName, generate(tableNames, TABLE_PREFIX)
+				.flatMap(table -> table.rows().stream()).toList(), CatalogObjectType.TABLE);
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames) {
+		return CatalogRowMapper.toTables(databaseName, generate(viewNames, VIEW_PREFIX)
+				.flatMap(view -> view.rows().stream()).toList(), CatalogObjectType.VIEW);
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchForeignKeys(String databaseName, Collection<String> tableNames) {
+		return generate(tableNames, TABLE_PREFIX).flatMap(table -> table.foreignKeys().stream()).toList();
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllTableInfo(String databaseName) {
+		return fetchTableInfo(databaseName, allNames(TABLE_PREFIX, tableCount));
+	}
+
+	@Override
+	public List<TableMetadataDto> fetchAllViewInfo(String databaseName) {
+		return fetchViewInfo(databaseName, allNames(VIEW_PREFIX, viewCount));
+	}
+
+	@Override
+	public List<ForeignKeyDto> fetchAllForeignKeys(String databaseName) {
+		return fetchForeignKeys(databaseName, allNames(TABLE_PREFIX, tableCount));
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+		return objectNames.stream().map(name -> name.toUpperCase(StringUtil.LOCALE)).filter(name -> indexOf(name) >= 0)
+				.distinct().map(name -> CatalogRowMapper.newObject(name,
+						name.startsWith(VIEW_PREFIX) ? CatalogObjectType.VIEW : CatalogObjectType.TABLE, MODIFY_DATE))
+				.toList();
+	}
+
+	@Override
+	public List<CatalogObjectDto> fetchMatchingObjects(String databaseName, Collection<String> includePatterns,
+			Collection<String> excludePatterns) {
+		Predicate<String> matcher = NamePatternUtil.matcher(includePatterns, excludePatterns);
+
+		return fetchObjects(databaseName, Stream
+				.concat(allNames(TABLE_PREFIX, tableCount).stream(), allNames(VIEW_PREFIX, viewCount).stream())
+				.filter(matcher).sorted().toList());
+	}
+
+	private List<String> allNames(String prefix, int count) {
+		return IntStream.range(0, count).mapToObj(index -> NAME_FORMAT.formatted(prefix, index)).toList();
+	}
+
+	/**
+	 * Parses the index of a synthetic object name, or returns -1 when the name is
+	 * not part of the configured catalog.
+	 */
+	private int indexOf(String name) {
+		String upperName = name.toUpperCase(StringUtil.LOCALE);
+		int count = upperName.startsWith(TABLE_PREFIX) ? tableCount : upperName.startsWith(VIEW_PREFIX) ? viewCount : 0;
+
+		try {
+			int index = Integer.parseInt(upperName.substring(TABLE_PREFIX.length()));
+			return index >= 0 && index < count ? index : -1;
+		} catch (NumberFormatException | IndexOutOfBoundsException e) {
+			return -1;
+		}
+	}
+
+	private Stream<SyntheticTable> generate(Collection<String> names, String prefix) {
+		return names.stream().map(name -> name.toUpperCase(StringUtil.LOCALE))
+				.filter(name -> name.startsWith(prefix) && indexOf(name) >= 0).distinct().map(this::generate);
+	}
+
+	private SyntheticTable generate(String objectName) {
+		int index = indexOf(objectName);
+		boolean view = objectName.startsWith(VIEW_PREFIX);
+		SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L) ^ (view ? 1 : 0));
+
+		String tableDescription = description(random);
+		int pkColumns = !view && random.nextDouble() < compositePkRatio ? 2 : 1;
+		int fkColumns = view ? 0 : foreignKeysPerTable;
+
+		List<Object[]> rows = new ArrayList<>(columnsPerTable);
+		List<ForeignKeyDto> foreignKeys = new ArrayList<>(fkColumns);
+
+		for (int column = 0; column < columnsPerTable; column++) {
+			boolean pk = column < pkColumns;
+			boolean fk = !pk && column < pkColumns + fkColumns;
+			String columnName = pk ? "ID_SYN_%02d".formatted(column + 1)
+					: fk ? "FK_SYN_%02d".formatted(column - pkColumns + 1) : "CL_SYN_%03d".formatted(column + 1);
+			Object[] type = pk || fk ? COLUMN_TYPES.get(8) : COLUMN_TYPES.get(random.nextInt(COLUMN_TYPES.size()));
+
+			rows.add(new Object[] { objectName, tableDescription, columnName, type[0], description(random),
+					pk ? 'N' : random.nextBoolean() ? 'Y' : 'N', type[1], type[2], type[3], pk ? column + 1 : null,
+					pk && pkColumns == 1 ? 'Y' : 'N' });
+
+			if (fk) {
+				String referencedTable = tableName(random.nextInt(tableCount));
+				foreignKeys.add(new ForeignKeyDto(objectName, columnName,
+						"FK_%s_%02d".formatted(objectName, column - pkColumns + 1), referencedTable, "ID_SYN_01"));
+			}
+		}
+
+		return new SyntheticTable(rows, foreignKeys);
+	}
+
+	private String description(SplittableRandom random) {
+		return IntStream.range(0, descriptionWords).mapToObj(i -> WORDS.get(random.nextInt(WORDS.size())))
+				.collect(Collectors.joining(" "));
+	}
+
+	private record SyntheticTable(List<Object[]> rows, List<ForeignKeyDto> foreignKeys) {
+	}
+
+}
@@ -0,0 +1,165 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+/**
+ * Coalesces the catalog lookups that concurrent requests issue against the same
+ * database into shared batched round trips.
+ * <p>
+ * The first caller of a lookup opens a batch. When no other caller is fetching
+ * from the same database, it runs the batch right away; otherwise it waits up
+ * to {@code catalog.fetch.coalesce-window} for other callers to add their
+ * names, or until the batch holds {@code catalog.fetch.batch-size} names. It
+ * then fetches the union within the permits of the database and every caller
+ * takes its own names from the shared result. Uncontended lookups therefore
+ * never wait for the window. A zero window disables coalescing.
+ */
+@Component
+public class CatalogFetchCoalescer {
+	private final CatalogFetchExecutor catalogFetchExecutor;
+	private final Duration window;
+	private final int maxBatchSize;
+
+	private final Map<String, PendingBatch> openBatches = new HashMap<>();
+	/** Callers inside {@link #fetch} per database, guarded by openBatches. */
+	private final Map<String, Integer> callersByDatabase = new HashMap<>();
+
+	public CatalogFetchCoalescer(CatalogFetchExecutor catalogFetchExecutor,
+			@Value("${catalog.fetch.coalesce-window:PT2MS}") Duration window,
+			@Value("${catalog.fetch.batch-size:200}") int maxBatchSize) {
+		this.catalogFetchExecutor = catalogFetchExecutor;
+		this.window = window;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Fetches the given upper-cased names through a batch shared with the other
+	 * callers of the same lookup on the same database. The batch fetch receives
+	 * the union of the names and returns its results keyed by name; the lookup
+	 * must identify both the query and the type of its results.
+	 */
+	public <T> Map<String, T> fetch(String databaseName, String lookup, Collection<String> names,
+			Function<List<String>, Map<String, T>> batchFetch) {
+		if (names.isEmpty()) {
+			return Map.of();
+		}
+
+		if (window.isZero() || window.isNegative()) {
+			return catalogFetchExecutor.withPermit(databaseName, () -> batchFetch.apply(List.copyOf(names)));
+		}
+
+		String key = databaseName + "/" + lookup;
+		PendingBatch batch;
+		boolean leader = false;
+
+		synchronized (openBatches) {
+			callersByDatabase.merge(databaseName, 1, Integer::sum);
+			batch = openBatches.get(key);
+
+			if (batch == null || batch.names().size() + names.size() > maxBatchSize) {
+				batch = new PendingBatch();
+				openBatches.put(key, batch);
+				leader = true;
+			}
+
+			batch.names().addAll(names);
+			if (batch.names().size() >= maxBatchSize) {
+				openBatches.remove(key, batch);
+				batch.full().countDown();
+			}
+		}
+
+		Map<String, T> results;
+		try {
+			if (leader) {
+				runBatch(databaseName, key, batch, batchFetch);
+			}
+
+			results = awaitResults(batch);
+		} finally {
+			synchronized (openBatches) {
+				callersByDatabase.computeIfPresent(databaseName, (name, callers) -> callers == 1 ? null : callers - 1);
+			}
+		}
+
+		Map<String, T> ownResults = new HashMap<>();
+		for (String name : names) {
+			T result = results.get(name);
+			if (result != null) {
+				ownResults.put(name, result);
+			}
+		}
+
+		return ownResults;
+	}
+
+	/**
+	 * Runs the batch of a leader: at once when it is the only caller fetching
+	 * from the database, otherwise once the window elapses or the batch is full.
+	 */
+	private <T> void runBatch(String databaseName, String key, PendingBatch batch,
+			Function<List<String>, Map<String, T>> batchFetch) {
+		boolean contended;
+		synchronized (openBatches) {
+			contended = callersByDatabase.getOrDefault(databaseName, 0) > 1;
+		}
+
+		if (contended) {
+			try {
+				batch.full().await(window.toNanos(), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		List<String> batchNames;
+		synchronized (openBatches) {
+			openBatches.remove(key, batch);
+			batchNames = List.copyOf(batch.names());
+		}
+
+		try {
+			batch.results()
+					.complete(catalogFetchExecutor.withPermit(databaseName, () -> batchFetch.apply(batchNames)));
+		} catch (RuntimeException e) {
+			batch.results().completeExceptionally(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Map<String, T> awaitResults(PendingBatch batch) {
+		try {
+			return (Map<String, T>) batch.results().join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null, e.getCause().getMessage(),
+					e.getCause());
+		}
+	}
+
+	private record PendingBatch(Set<String> names, CountDownLatch full, CompletableFuture<Map<String, ?>> results) {
+		PendingBatch() {
+			this(new LinkedHashSet<>(), new CountDownLatch(1), new CompletableFuture<>());
+		}
+	}
+
+}
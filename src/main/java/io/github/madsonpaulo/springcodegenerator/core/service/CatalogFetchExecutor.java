@@ -0,0 +1,136 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs catalog fetches concurrently on virtual threads.
+ * <p>
+ * Every catalog round trip holds one of the permits of its database, so no
+ * more than {@code catalog.fetch.max-concurrency-per-database} queries hit the
+ * same database at once, however many requests or chunks are in flight. The
+ * permits of a database are only kept while some fetch uses them, so database
+ * names coming from requests do not accumulate.
+ */
+@Component
+public class CatalogFetchExecutor {
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Map<String, DatabasePermits> permitsByDatabase = new ConcurrentHashMap<>();
+
+	private final int maxConcurrencyPerDatabase;
+
+	public CatalogFetchExecutor(
+			@Value("${catalog.fetch.max-concurrency-per-database:4}") int maxConcurrencyPerDatabase) {
+		this.maxConcurrencyPerDatabase = maxConcurrencyPerDatabase;
+	}
+
+	/**
+	 * Runs a catalog round trip against the database while holding one of its
+	 * permits.
+	 */
+	public <T> T withPermit(String databaseName, Supplier<T> fetch) {
+		DatabasePermits permits = permitsByDatabase.compute(databaseName, (name, current) -> {
+			DatabasePermits used = current != null ? current : new DatabasePermits(maxConcurrencyPerDatabase);
+			used.users++;
+			return used;
+		});
+
+		try {
+			try {
+				permits.semaphore.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CodeGenerationException(HttpStatus.SERVICE_UNAVAILABLE, null,
+						"Interrupted while waiting for a connection to database '%s'.".formatted(databaseName), e);
+			}
+
+			try {
+				return fetch.get();
+			} finally {
+				permits.semaphore.release();
+			}
+		} finally {
+			permitsByDatabase.computeIfPresent(databaseName, (name, used) -> --used.users == 0 ? null : used);
+		}
+	}
+
+	/**
+	 * Number of databases with fetches running or waiting for a permit.
+	 */
+	int trackedDatabaseCount() {
+		return permitsByDatabase.size();
+	}
+
+	/**
+	 * Runs all the tasks concurrently and waits for them. The first failure, in
+	 * order of completion, cancels the remaining tasks and is rethrown to the
+	 * caller.
+	 */
+	public void runAll(List<Runnable> tasks) {
+		if (tasks.size() <= 1) {
+			tasks.forEach(Runnable::run);
+			return;
+		}
+
+		CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<Void>> futures = new ArrayList<>(tasks.size());
+		tasks.forEach(task -> futures.add(completionService.submit(task, null)));
+
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				completionService.take().get();
+			}
+		} catch (ExecutionException e) {
+			futures.forEach(future -> future.cancel(true));
+
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null, e.getCause().getMessage(),
+					e.getCause());
+		} catch (InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+
+			throw new CodeGenerationException(HttpStatus.SERVICE_UNAVAILABLE, null,
+					"Interrupted while fetching the catalog metadata.", e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Permits of one database and the number of fetches holding or waiting for
+	 * them, only updated inside the map's atomic compute of that database.
+	 */
+	private static final class DatabasePermits {
+		private final Semaphore semaphore;
+		private int users;
+
+		private DatabasePermits(int maxConcurrency) {
+			this.semaphore = new Semaphore(maxConcurrency, true);
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogSnapshotDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepository;
+import io.github.madsonpaulo.springcodegenerator.core.utils.CatalogSnapshotUtil;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exports catalog snapshots that the {@code snapshot} profile can later serve
+ * without a database connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogSnapshotService {
+	private final TableMetadataRepository repository;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Exports the given tables and views of the database, or the whole database
+	 * when no name is given.
+	 */
+	public CatalogSnapshotDto export(String databaseName, List<String> objectNames) {
+		CatalogSnapshotDto snapshot = new CatalogSnapshotDto();
+		snapshot.setDatabaseName(databaseName);
+		snapshot.setExportedAt(LocalDateTime.now());
+
+		if (objectNames.isEmpty()) {
+			snapshot.getTables().addAll(repository.fetchAllTableInfo(databaseName));
+			snapshot.getViews().addAll(repository.fetchAllViewInfo(databaseName));
+			snapshot.getForeignKeys().addAll(repository.fetchAllForeignKeys(databaseName));
+		} else {
+			snapshot.getTables().addAll(repository.fetchTableInfo(databaseName, objectNames));
+			snapshot.getViews().addAll(repository.fetchViewInfo(databaseName, objectNames));
+			snapshot.getForeignKeys().addAll(repository.fetchForeignKeys(databaseName, objectNames));
+		}
+
+		List<String> exportedNames = Stream.concat(snapshot.getTables().stream(), snapshot.getViews().stream())
+				.map(TableMetadataDto::getTableName).toList();
+		snapshot.getModifyDates().putAll(repository.fetchModifyDates(databaseName, exportedNames));
+
+		return snapshot;
+	}
+
+	public ByteArrayResource exportPayload(String databaseName, List<String> objectNames) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		CatalogSnapshotUtil.write(objectMapper, export(databaseName, objectNames), outputStream);
+
+		return new ByteArrayResource(outputStream.toByteArray());
+	}
+
+}
@@ -0,0 +1,217 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import io.github.madsonpaulo.springcodegenerator.core.cache.MappedCatalog;
+import io.github.madsonpaulo.springcodegenerator.core.cache.SingleFlight;
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseCatalogDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogStorage;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepository;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps whole-database catalogs in memory so that table metadata can be
+ * resolved without querying the catalog views per request.
+ * <p>
+ * A catalog is loaded in bulk at startup for the databases listed in
+ * {@code catalog.in-memory.preload-databases}, or on the first request that
+ * targets a database, and stays until it is explicitly reloaded. Concurrent
+ * requests for a database being loaded wait for that single load, whose bulk
+ * queries hold the database's catalog fetch permits like any other fetch.
+ * Databases that do not exist are reported as not found.
+ * <p>
+ * With {@code catalog.in-memory.storage=MAPPED} the catalog is written to a
+ * binary file in a directory created under
+ * {@code catalog.in-memory.mapped-directory} and served from a memory mapping,
+ * keeping large catalogs off the heap. The directory is removed on shutdown.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DatabaseCatalogService {
+	private final TableMetadataRepository repository;
+	private final CatalogFetchExecutor catalogFetchExecutor;
+
+	@Value("${catalog.in-memory.enabled:false}")
+	private boolean enabled;
+
+	@Value("${catalog.in-memory.preload-databases:}")
+	private String preloadDatabases;
+
+	@Value("${catalog.in-memory.storage:HEAP}")
+	private CatalogStorage storage;
+
+	@Value("${catalog.in-memory.mapped-directory:${java.io.tmpdir}/spring-code-generator/catalogs}")
+	private Path mappedDirectory;
+
+	private final Map<String, DatabaseCatalogDto> catalogs = new ConcurrentHashMap<>();
+	private final Map<String, Path> mappedFiles = new ConcurrentHashMap<>();
+	private final SingleFlight<String, DatabaseCatalogDto> loads = new SingleFlight<>();
+	private Path mappedFilesDirectory;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void preload() {
+		if (!enabled || !StringUtils.hasText(preloadDatabases)) {
+			return;
+		}
+
+		StringUtil.splitCommaSeparatedValues(preloadDatabases)
+				.forEach(databaseName -> reload(databaseName.toUpperCase(StringUtil.LOCALE)));
+	}
+
+	/**
+	 * Returns the in-memory catalog of the database, loading it on first use, or
+	 * an empty optional when the in-memory mode is disabled.
+	 */
+	public Optional<DatabaseCatalogDto> findCatalog(String databaseName) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+
+		DatabaseCatalogDto catalog = catalogs.get(databaseName);
+		if (catalog != null) {
+			return Optional.of(catalog);
+		}
+
+		return Optional.of(loads.execute(databaseName, () -> {
+			DatabaseCatalogDto loaded = catalogs.get(databaseName);
+			return loaded != null ? loaded : store(databaseName);
+		}));
+	}
+
+	public DatabaseCatalogDto reload(String databaseName) {
+		return loads.execute(databaseName, () -> store(databaseName));
+	}
+
+	public void evict(String databaseName) {
+		catalogs.remove(databaseName);
+		deleteMappedFile(mappedFiles.remove(databaseName));
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	private DatabaseCatalogDto store(String databaseName) {
+		DatabaseCatalogDto catalog = load(databaseName);
+		catalogs.put(databaseName, catalog);
+
+		return catalog;
+	}
+
+	private DatabaseCatalogDto load(String databaseName) {
+		long start = System.currentTimeMillis();
+
+		if (!catalogFetchExecutor.withPermit(databaseName, () -> repository.databaseExists(databaseName))) {
+			throw new CodeGenerationException(HttpStatus.NOT_FOUND, null,
+					"Database '%s' was not found.".formatted(databaseName));
+		}
+
+		List<TableMetadataDto> tables = new ArrayList<>(
+				catalogFetchExecutor.withPermit(databaseName, () -> repository.fetchAllTableInfo(databaseName)));
+		tables.addAll(catalogFetchExecutor.withPermit(databaseName, () -> repository.fetchAllViewInfo(databaseName)));
+		List<ForeignKeyDto> foreignKeys = catalogFetchExecutor.withPermit(databaseName,
+				() -> repository.fetchAllForeignKeys(databaseName));
+
+		DatabaseCatalogDto catalog = new DatabaseCatalogDto(databaseName, LocalDateTime.now(),
+				DatabaseCatalogDto.indexTables(tables), DatabaseCatalogDto.indexForeignKeys(foreignKeys));
+
+		if (storage == CatalogStorage.MAPPED) {
+			catalog = mapCatalog(catalog);
+		}
+
+		log.info("Catalog of database '{}' loaded in memory ({}): {} objects, {} foreign keys in {} ms.", databaseName,
+				storage, catalog.getTableCount(), foreignKeys.size(), System.currentTimeMillis() - start);
+
+		return catalog;
+	}
+
+	/**
+	 * Writes the catalog to a new file and replaces it by a view over its memory
+	 * mapping, so that the loaded DTOs can be collected.
+	 */
+	private DatabaseCatalogDto mapCatalog(DatabaseCatalogDto catalog) {
+		String databaseName = catalog.getDatabaseName();
+
+		try {
+			Path file = Files.createTempFile(mappedFilesDirectory(), databaseName + "-", ".catalog");
+
+			MappedCatalog.write(file, catalog);
+			MappedCatalog mappedCatalog = MappedCatalog.open(file);
+			deleteMappedFile(mappedFiles.put(databaseName, file));
+
+			log.info("Catalog of database '{}' mapped from {} ({} bytes).", databaseName, file,
+					mappedCatalog.getByteSize());
+
+			return new DatabaseCatalogDto(databaseName, catalog.getLoadedAt(), mappedCatalog.tablesView(),
+					mappedCatalog.foreignKeysView());
+		} catch (IOException e) {
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null,
+					"Could not map the catalog of database '%s': %s".formatted(databaseName, e.getMessage()), e);
+		}
+	}
+
+	private synchronized Path mappedFilesDirectory() throws IOException {
+		if (mappedFilesDirectory == null) {
+			Files.createDirectories(mappedDirectory);
+			mappedFilesDirectory = Files.createTempDirectory(mappedDirectory, "catalogs-");
+		}
+
+		return mappedFilesDirectory;
+	}
+
+	/**
+	 * Deletes a replaced catalog file. Mappings still in use stay readable on
+	 * platforms that allow it; elsewhere the file is left for the shutdown
+	 * cleanup.
+	 */
+	private void deleteMappedFile(Path file) {
+		if (file == null) {
+			return;
+		}
+
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.debug("Catalog file {} could not be deleted yet: {}", file, e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	public synchronized void deleteMappedFiles() {
+		mappedFiles.clear();
+		if (mappedFilesDirectory == null) {
+			return;
+		}
+
+		try (Stream<Path> paths = Files.walk(mappedFilesDirectory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		} catch (IOException e) {
+			log.warn("Failed to clean up the catalog directory {}.", mappedFilesDirectory, e);
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.util.List;
+
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.StreamedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.utils.ArchiveWriter;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SourcePackagingUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Generates the classes of every table and view of a database that matches a
+ * set of name patterns.
+ * <p>
+ * The matching names come from a single catalog query. They are then run
+ * through the regular generation pipeline in chunks of
+ * {@code generator.bulk.chunk-size} tables, each chunk being written to the
+ * response and released before the next one is resolved, so neither the
+ * metadata and sources nor the archive held at once grow with the size of the
+ * schema.
+ */
+@Service
+@RequiredArgsConstructor
+public class DatabaseGeneratorService {
+	private final TableMetadataService tableMetadataService;
+	private final SourceGeneratorService sourceGeneratorService;
+	private final PackagingExecutor packagingExecutor;
+
+	@Value("${generator.bulk.chunk-size:200}")
+	private int chunkSize;
+
+	private static final String ALL_OBJECTS_PATTERN = "%";
+	private static final String OUTPUT_FILE_NAME = "%s-generated-sources.%s";
+
+	/**
+	 * Resolves the matching tables and views, failing fast when none matches,
+	 * and returns an archive payload of their classes that is generated chunk by chunk
+	 * while it is written, even when a single object matches.
+	 */
+	public StreamedPayloadDto streamDatabase(DatabaseGenerationRequestDto request) {
+		String databaseName = request.getDatabaseName().strip().toUpperCase(StringUtil.LOCALE);
+		sourceGeneratorService.validateRequest(toChunkRequest(request, List.of()));
+
+		List<String> tableNames = findMatchingTableNames(databaseName, request);
+
+		PackagingFormat format = SourcePackagingUtil.resolveFormat(request.getPackagingFormat());
+
+		return new StreamedPayloadDto(OUTPUT_FILE_NAME.formatted(databaseName, format.getExtension()),
+				format.getMediaType(), null, null, outputStream -> {
+					try (ArchiveWriter archiveWriter = SourcePackagingUtil.openArchive(
+							StreamUtils.nonClosing(outputStream), format, request.getCompressionLevel(),
+							packagingExecutor)) {
+						for (List<String> chunk : ListUtils.partition(tableNames, chunkSize)) {
+							sourceGeneratorService.writeSources(
+									sourceGeneratorService.prepareGeneration(toChunkRequest(request, chunk)),
+									archiveWriter);
+						}
+						archiveWriter.finish();
+					}
+				});
+	}
+
+	private List<String> findMatchingTableNames(String databaseName, DatabaseGenerationRequestDto request) {
+		List<String> tableNames;
+		try {
+			List<String> includePatterns = StringUtils.hasText(request.getIncludePatterns())
+					? StringUtil.splitCommaSeparatedValues(request.getIncludePatterns())
+					: List.of(ALL_OBJECTS_PATTERN);
+			List<String> excludePatterns = StringUtils.hasText(request.getExcludePatterns())
+					? StringUtil.splitCommaSeparatedValues(request.getExcludePatterns())
+					: List.of();
+
+			tableNames = tableMetadataService.findMatchingTableNames(databaseName, includePatterns, excludePatterns);
+		} catch (IllegalArgumentException e) {
+			throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null, e.getMessage(), e);
+		}
+
+		if (tableNames.isEmpty()) {
+			throw new CodeGenerationException(HttpStatus.NOT_FOUND, null,
+					"No table or view of database '%s' matches the given patterns.".formatted(databaseName));
+		}
+
+		return tableNames;
+	}
+
+	private CodeGenerationRequestDto toChunkRequest(DatabaseGenerationRequestDto request, List<String> tableNames) {
+		return new CodeGenerationRequestDto(String.join(",", tableNames), request.getRootPackage(),
+				request.isGenerateEntity(), request.isGenerateDto(), request.isGenerateServiceRepository(),
+				request.getPackagingFormat(), request.getCompressionLevel());
+	}
+
+}
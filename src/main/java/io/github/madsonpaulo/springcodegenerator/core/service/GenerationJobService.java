@@ -0,0 +1,332 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GenerationJobDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.GenerationJobStatus;
+import io.github.madsonpaulo.springcodegenerator.core.enums.GenerationStage;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs generation requests as background jobs that clients submit, poll and
+ * download later.
+ * <p>
+ * Jobs run on their own pool of {@code generator.jobs.max-concurrency}
+ * workers, so however many large jobs are submitted, interactive requests keep
+ * the servlet threads. At most {@code generator.jobs.queue-capacity} jobs wait
+ * for a worker; beyond that, submissions are refused with 429. Finished jobs
+ * and their payloads are kept for {@code generator.jobs.retention}, and only
+ * the {@code generator.jobs.max-retained} most recent ones. Archives larger
+ * than {@code generator.spool.threshold} are kept on disk rather than on the
+ * heap, and deleted along with their job once no download is streaming them.
+ */
+@Slf4j
+@Service
+public class GenerationJobService {
+	private final SourceGeneratorService sourceGeneratorService;
+	private final PayloadSpool payloadSpool;
+	private final ThreadPoolExecutor executor;
+	private final Duration retention;
+	private final int maxRetained;
+
+	private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+	public GenerationJobService(SourceGeneratorService sourceGeneratorService, PayloadSpool payloadSpool,
+			@Value("${generator.jobs.max-concurrency:2}") int maxConcurrency,
+			@Value("${generator.jobs.queue-capacity:20}") int queueCapacity,
+			@Value("${generator.jobs.retention:PT1H}") Duration retention,
+			@Value("${generator.jobs.max-retained:50}") int maxRetained) {
+		this.sourceGeneratorService = sourceGeneratorService;
+		this.payloadSpool = payloadSpool;
+		this.retention = retention;
+		this.maxRetained = maxRetained;
+		this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("generation-job-", 0).factory());
+	}
+
+	/**
+	 * Queues the generation of the request and returns the job right away.
+	 * Requests that cannot succeed are refused before being queued.
+	 */
+	public GenerationJobDto submit(CodeGenerationRequestDto request) {
+		if (!StringUtils.hasText(request.getTableNames()) || !StringUtils.hasText(request.getRootPackage())) {
+			throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null,
+					"The table names and the root package are required.");
+		}
+		sourceGeneratorService.validateRequest(request);
+		purgeExpiredJobs();
+
+		GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), request);
+		jobs.put(job.id, job);
+
+		try {
+			job.future = executor.submit(() -> run(job));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.id);
+			throw new CodeGenerationException(HttpStatus.TOO_MANY_REQUESTS, null,
+					"Too many generation jobs are queued. Try again later.", e);
+		}
+
+		return job.toDto();
+	}
+
+	public GenerationJobDto findJob(String jobId) {
+		return getJob(jobId).toDto();
+	}
+
+	/**
+	 * Returns the payload of a job that succeeded, held for one download until
+	 * the returned {@link JobDownload} is closed: deleting or expiring the job
+	 * meanwhile only deletes the payload once its last download is closed. Jobs
+	 * still running or that failed answer 409 with their status.
+	 */
+	public JobDownload acquirePayload(String jobId) {
+		GenerationJob job = getJob(jobId);
+
+		synchronized (job) {
+			if (job.discarded) {
+				throw new CodeGenerationException(HttpStatus.NOT_FOUND, null,
+						"Generation job '%s' was not found or has expired.".formatted(jobId));
+			}
+			if (job.status == GenerationJobStatus.FAILED) {
+				throw new CodeGenerationException(HttpStatus.CONFLICT, null,
+						"Generation job '%s' failed: %s".formatted(jobId, job.errorMessage));
+			}
+			if (job.status != GenerationJobStatus.SUCCEEDED) {
+				throw new CodeGenerationException(HttpStatus.CONFLICT, null,
+						"Generation job '%s' is %s and has no payload yet.".formatted(jobId, job.status));
+			}
+
+			job.downloads++;
+			return new JobDownload(job);
+		}
+	}
+
+	/**
+	 * Cancels a job that has not finished yet, or discards the payload of one
+	 * that has.
+	 */
+	public void delete(String jobId) {
+		GenerationJob job = getJob(jobId);
+		discard(job);
+
+		if (job.future != null) {
+			job.future.cancel(true);
+			executor.remove((Runnable) job.future);
+		}
+	}
+
+	private GenerationJob getJob(String jobId) {
+		purgeExpiredJobs();
+
+		GenerationJob job = jobs.get(jobId);
+		if (job == null) {
+			throw new CodeGenerationException(HttpStatus.NOT_FOUND, null,
+					"Generation job '%s' was not found or has expired.".formatted(jobId));
+		}
+
+		return job;
+	}
+
+	private void run(GenerationJob job) {
+		try {
+			job.start();
+			PreparedGenerationDto prepared = sourceGeneratorService.prepareGeneration(job.request);
+
+			job.render(prepared.getTablesMetadata().size());
+			GeneratedPayloadDto payload = prepared.getTablesMetadata().size() > 1
+					? sourceGeneratorService.spoolPayload(prepared, job::tableGenerated)
+					: sourceGeneratorService.generatePayload(prepared, job::tableGenerated);
+
+			job.succeed(payload, payload.getPayload().contentLength());
+			if (jobs.get(job.id) != job) {
+				// deleted while running
+				payloadSpool.release(payload.getPayload());
+			}
+		} catch (IOException | RuntimeException e) {
+			log.warn("Generation job {} failed.", job.id, e);
+			job.fail(e);
+		}
+	}
+
+	/**
+	 * Drops the finished jobs older than the retention period, then the oldest
+	 * finished ones beyond {@code generator.jobs.max-retained}.
+	 */
+	private void purgeExpiredJobs() {
+		LocalDateTime expiry = LocalDateTime.now().minus(retention);
+		jobs.values().stream().filter(job -> job.isFinishedBefore(expiry)).toList().forEach(this::discard);
+
+		long excess = jobs.values().stream().filter(GenerationJob::isFinished).count() - maxRetained;
+		if (excess > 0) {
+			jobs.values().stream().filter(GenerationJob::isFinished)
+					.sorted(Comparator.comparing(GenerationJob::getFinishedAt)).limit(excess).toList()
+					.forEach(this::discard);
+		}
+	}
+
+	/**
+	 * Forgets a job and releases its payload, deleting it if it was spilled to
+	 * disk, unless it is being downloaded; the last download then releases it.
+	 */
+	private void discard(GenerationJob job) {
+		if (jobs.remove(job.id, job) && job.discard()) {
+			payloadSpool.release(job.getPayload());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Payload of a succeeded job held for one download. Closing it more than once
+	 * has no further effect.
+	 */
+	public final class JobDownload implements AutoCloseable {
+		private final GenerationJob job;
+		private final GeneratedPayloadDto payload;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private JobDownload(GenerationJob job) {
+			this.job = job;
+			this.payload = job.payload;
+		}
+
+		public GeneratedPayloadDto getPayload() {
+			return payload;
+		}
+
+		@Override
+		public void close() {
+			if (closed.compareAndSet(false, true) && job.release()) {
+				payloadSpool.release(payload.getPayload());
+			}
+		}
+
+	}
+
+	/**
+	 * Mutable state of one job, updated by its worker and read by the pollers.
+	 */
+	private static final class GenerationJob {
+		private final String id;
+		private final CodeGenerationRequestDto request;
+		private final LocalDateTime submittedAt = LocalDateTime.now();
+		private volatile Future<?> future;
+
+		private GenerationJobStatus status = GenerationJobStatus.QUEUED;
+		private GenerationStage stage;
+		private int tableCount;
+		private int generatedTableCount;
+		private LocalDateTime startedAt;
+		private LocalDateTime finishedAt;
+		private GeneratedPayloadDto payload;
+		private Long payloadSize;
+		private String errorMessage;
+		private int downloads;
+		private boolean discarded;
+
+		private GenerationJob(String id, CodeGenerationRequestDto request) {
+			this.id = id;
+			this.request = request;
+		}
+
+		private synchronized void start() {
+			status = GenerationJobStatus.RUNNING;
+			stage = GenerationStage.FETCHING_METADATA;
+			startedAt = LocalDateTime.now();
+		}
+
+		private synchronized void render(int tableCount) {
+			this.tableCount = tableCount;
+			stage = tableCount > 0 ? GenerationStage.RENDERING : GenerationStage.PACKAGING;
+		}
+
+		private synchronized void tableGenerated() {
+			generatedTableCount++;
+			if (generatedTableCount >= tableCount) {
+				stage = GenerationStage.PACKAGING;
+			}
+		}
+
+		private synchronized void succeed(GeneratedPayloadDto payload, long payloadSize) {
+			this.payload = payload;
+			this.payloadSize = payloadSize;
+			generatedTableCount = tableCount;
+			status = GenerationJobStatus.SUCCEEDED;
+			finishedAt = LocalDateTime.now();
+		}
+
+		private synchronized void fail(Exception e) {
+			errorMessage = e.getMessage() != null ? e.getMessage() : e.toString();
+			status = GenerationJobStatus.FAILED;
+			finishedAt = LocalDateTime.now();
+		}
+
+		/**
+		 * Marks the job discarded and tells whether its payload can be released
+		 * right away, that is, whether no download holds it.
+		 */
+		private synchronized boolean discard() {
+			discarded = true;
+			return downloads == 0;
+		}
+
+		/**
+		 * Ends a download and tells whether it was the last one of a discarded
+		 * job, whose payload must then be released.
+		 */
+		private synchronized boolean release() {
+			downloads--;
+			return discarded && downloads == 0;
+		}
+
+		private synchronized boolean isFinished() {
+			return status.isFinished();
+		}
+
+		private synchronized boolean isFinishedBefore(LocalDateTime instant) {
+			return finishedAt != null && finishedAt.isBefore(instant);
+		}
+
+		private synchronized LocalDateTime getFinishedAt() {
+			return finishedAt;
+		}
+
+		private synchronized Resource getPayload() {
+			return payload != null ? payload.getPayload() : null;
+		}
+
+		private synchronized GenerationJobDto toDto() {
+			return new GenerationJobDto(id, status, stage, tableCount, generatedTableCount, submittedAt, startedAt,
+					finishedAt, payload != null ? payload.getFileName() : null, payloadSize, errorMessage);
+		}
+
+	}
+
+}
@@ -0,0 +1,277 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.cache.ArtifactCache;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedJavaSourceDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.RenamedObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.SchemaChangesDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.SchemaObjectStateDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.SchemaVersionDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.utils.FingerprintUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SourcePackagingUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SpoolingOutputStream;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Generates only the classes of the tables that changed since a previous
+ * schema version or a point in time.
+ * <p>
+ * One {@code sys.objects} lookup tells which tables exist and when they were
+ * last modified. Against a schema version, every requested table has its
+ * artifact key computed and only those whose key changed are rendered, since
+ * a description change does not always move {@code modify_date}; the
+ * metadata of the tables whose modification date did not move comes from the
+ * metadata cache. Against a timestamp, only the tables modified after it are
+ * rendered. Each call stores the resulting schema version in the
+ * {@link ArtifactCache} under its fingerprint, which the client passes back as
+ * {@code since} next time.
+ */
+@Service
+@RequiredArgsConstructor
+public class IncrementalGeneratorService {
+	private final TableMetadataService tableMetadataService;
+	private final SourceGeneratorService sourceGeneratorService;
+	private final ArtifactCache artifactCache;
+	private final ObjectMapper objectMapper;
+	private final PackagingExecutor packagingExecutor;
+	private final PayloadSpool payloadSpool;
+
+	public static final String MANIFEST_FILE_NAME = "schema-changes.json";
+	private static final String OUTPUT_FILE_NAME = "generated-changes.%s";
+	private static final String SCHEMA_VERSION_ARTIFACT = "schema-version";
+	private static final Pattern SCHEMA_VERSION_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+	/**
+	 * Generates the classes of the requested tables that changed since the given
+	 * schema version or ISO-8601 timestamp, or of all of them when {@code since}
+	 * is empty, in an archive of the requested format with a
+	 * {@value #MANIFEST_FILE_NAME} manifest. The returned payload version is
+	 * the new schema version; the payload is spooled and must be released with
+	 * {@link PayloadSpool#release} once served.
+	 */
+	public GeneratedPayloadDto generateChanges(CodeGenerationRequestDto request, String since) {
+		sourceGeneratorService.validateRequest(request);
+
+		SchemaChangesDto changes = new SchemaChangesDto();
+		changes.setSince(since);
+
+		Optional<LocalDateTime> sinceDate = parseTimestamp(since);
+		SchemaVersionDto previousVersion = null;
+		if (sinceDate.isEmpty() && StringUtils.hasText(since)) {
+			previousVersion = loadSchemaVersion(since.trim()).orElse(null);
+		}
+		changes.setFullRegeneration(sinceDate.isEmpty() && previousVersion == null);
+
+		List<String> requestedNames = StringUtil.splitCommaSeparatedValues(request.getTableNames()).stream()
+				.map(tableMetadataService::qualifyTableName).distinct().toList();
+		Map<String, SchemaObjectStateDto> previousObjects = previousVersion != null ? previousVersion.getObjects()
+				: Map.of();
+
+		Set<String> lookupNames = new LinkedHashSet<>(requestedNames);
+		lookupNames.addAll(previousObjects.keySet());
+		Map<String, CatalogObjectDto> objects = tableMetadataService.findCatalogObjects(List.copyOf(lookupNames));
+
+		String optionsKey = sourceGeneratorService.optionsKey(request);
+		boolean sameOptions = previousVersion != null && optionsKey.equals(previousVersion.getOptionsKey());
+
+		List<String> existingNames = new ArrayList<>();
+		List<String> candidateNames = new ArrayList<>();
+		for (String name : requestedNames) {
+			CatalogObjectDto object = objects.get(name);
+
+			if (object == null) {
+				if (!previousObjects.containsKey(name)) {
+					throw new CodeGenerationException(HttpStatus.NOT_FOUND, name,
+							"Table '%s' was not found in the system catalog views.".formatted(name));
+				}
+				continue;
+			}
+
+			existingNames.add(name);
+			// a schema version is compared by artifact key, which every table needs
+			boolean modified = sinceDate.isEmpty() || object.getModifyDate() == null
+					|| object.getModifyDate().isAfter(sinceDate.get());
+
+			if (modified) {
+				candidateNames.add(name);
+			}
+		}
+
+		Map<String, String> artifactKeys = new HashMap<>();
+		List<GeneratedJavaSourceDto> generatedSources = generateCandidates(request, candidateNames, previousObjects,
+				sinceDate.isEmpty() && sameOptions, artifactKeys, changes);
+
+		SchemaVersionDto currentVersion = new SchemaVersionDto(optionsKey, new LinkedHashMap<>());
+		for (String name : existingNames) {
+			CatalogObjectDto object = objects.get(name);
+
+			currentVersion.getObjects().put(name, new SchemaObjectStateDto(object.getObjectId(),
+					Objects.toString(object.getModifyDate(), null), artifactKeys.get(name)));
+		}
+
+		resolveDeletedObjects(previousObjects, objects, currentVersion, changes);
+		changes.setSchemaVersion(storeSchemaVersion(currentVersion));
+
+		return packageChanges(request, generatedSources, changes);
+	}
+
+	/**
+	 * Resolves the metadata of the candidate tables and renders those whose
+	 * artifact key differs from the previous version, or all of them when the
+	 * previous keys cannot be compared.
+	 */
+	private List<GeneratedJavaSourceDto> generateCandidates(CodeGenerationRequestDto request,
+			List<String> candidateNames, Map<String, SchemaObjectStateDto> previousObjects, boolean compareKeys,
+			Map<String, String> artifactKeys, SchemaChangesDto changes) {
+		if (candidateNames.isEmpty()) {
+			return List.of();
+		}
+
+		PreparedGenerationDto prepared = sourceGeneratorService
+				.prepareGeneration(new CodeGenerationRequestDto(String.join(",", candidateNames),
+						request.getRootPackage(), request.isGenerateEntity(), request.isGenerateDto(),
+						request.isGenerateServiceRepository(), request.getPackagingFormat(),
+						request.getCompressionLevel()));
+
+		List<TableMetadataDto> changedTables = new ArrayList<>();
+		List<String> changedKeys = new ArrayList<>();
+		for (int i = 0; i < prepared.getTablesMetadata().size(); i++) {
+			TableMetadataDto tableMetadata = prepared.getTablesMetadata().get(i);
+			String name = tableMetadata.getQualifiedName();
+			String artifactKey = prepared.getArtifactKeys().get(i);
+			artifactKeys.put(name, artifactKey);
+
+			SchemaObjectStateDto previous = previousObjects.get(name);
+			if (!compareKeys || previous == null || !artifactKey.equals(previous.getArtifactKey())) {
+				changedTables.add(tableMetadata);
+				changedKeys.add(artifactKey);
+				changes.getChanged().add(name);
+			}
+		}
+
+		return sourceGeneratorService.generateSources(
+				new PreparedGenerationDto(prepared.getRequest(), changedTables, changedKeys, null));
+	}
+
+	/**
+	 * Reports the objects of the previous version that are gone from the catalog,
+	 * as renamed when an object of the current version has the same object id.
+	 */
+	private void resolveDeletedObjects(Map<String, SchemaObjectStateDto> previousObjects,
+			Map<String, CatalogObjectDto> objects, SchemaVersionDto currentVersion, SchemaChangesDto changes) {
+		Map<Integer, String> currentNamesById = new HashMap<>();
+		currentVersion.getObjects().forEach((name, state) -> {
+			if (state.getObjectId() != null && !previousObjects.containsKey(name)) {
+				currentNamesById.put(state.getObjectId(), name);
+			}
+		});
+
+		previousObjects.forEach((name, state) -> {
+			if (objects.containsKey(name)) {
+				return;
+			}
+
+			String currentName = state.getObjectId() != null ? currentNamesById.get(state.getObjectId()) : null;
+			if (currentName != null) {
+				changes.getRenamed().add(new RenamedObjectDto(name, currentName));
+			} else {
+				changes.getDeleted().add(name);
+			}
+		});
+	}
+
+	private Optional<LocalDateTime> parseTimestamp(String since) {
+		if (!StringUtils.hasText(since) || SCHEMA_VERSION_PATTERN.matcher(since.trim()).matches()) {
+			return Optional.empty();
+		}
+
+		try {
+			return Optional.of(LocalDateTime.parse(since.trim()));
+		} catch (DateTimeParseException e) {
+			throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null,
+					"'since' must be a schema version or an ISO-8601 date-time, e.g. 2024-01-31T18:00:00.", e);
+		}
+	}
+
+	private Optional<SchemaVersionDto> loadSchemaVersion(String schemaVersion) {
+		return artifactCache.get(schemaVersion).flatMap(bytes -> {
+			try {
+				return Optional.of(objectMapper.readValue(bytes, SchemaVersionDto.class));
+			} catch (IOException e) {
+				return Optional.empty();
+			}
+		});
+	}
+
+	private String storeSchemaVersion(SchemaVersionDto schemaVersion) {
+		try {
+			byte[] bytes = objectMapper.writeValueAsBytes(schemaVersion);
+			String key = FingerprintUtil.fingerprint(SCHEMA_VERSION_ARTIFACT, new String(bytes, StandardCharsets.UTF_8));
+			artifactCache.put(key, bytes);
+
+			return key;
+		} catch (IOException e) {
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null,
+					"Failed to store the schema version.", e);
+		}
+	}
+
+	/**
+	 * Packages the changed sources and the manifest into a spooled payload,
+	 * which the caller releases once served.
+	 */
+	private GeneratedPayloadDto packageChanges(CodeGenerationRequestDto request,
+			List<GeneratedJavaSourceDto> generatedSources, SchemaChangesDto changes) {
+		PackagingFormat format = SourcePackagingUtil.resolveFormat(request.getPackagingFormat());
+		SpoolingOutputStream spool = payloadSpool.open();
+		DigestOutputStream digestOutputStream = new DigestOutputStream(spool, FingerprintUtil.newDigest());
+
+		try {
+			String manifest = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(changes);
+
+			SourcePackagingUtil.writeArchive(digestOutputStream, generatedSources,
+					Map.of(MANIFEST_FILE_NAME, manifest), format, request.getCompressionLevel(), packagingExecutor);
+		} catch (IOException e) {
+			spool.discard();
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, request.getTableNames(),
+					"Failed to package the generated sources.", e);
+		} catch (RuntimeException e) {
+			spool.discard();
+			throw e;
+		}
+
+		return new GeneratedPayloadDto(OUTPUT_FILE_NAME.formatted(format.getExtension()), format.getMediaType(),
+				spool.toResource(), changes.getSchemaVersion(),
+				FingerprintUtil.checksum(digestOutputStream.getMessageDigest()));
+	}
+
+}
@@ -0,0 +1,40 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded pool that deflates the entries of generated ZIP archives.
+ * <p>
+ * All requests share {@code generator.packaging.threads} workers, by default
+ * one per available processor, so packaging scales with the cores without
+ * letting concurrent downloads oversubscribe them.
+ */
+@Component
+public class PackagingExecutor implements Executor {
+	private final ExecutorService executor;
+
+	public PackagingExecutor(@Value("${generator.packaging.threads:0}") int threads) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+		this.executor = Executors.newFixedThreadPool(poolSize,
+				Thread.ofPlatform().name("zip-deflate-", 0).daemon().factory());
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		executor.execute(task);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,90 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import io.github.madsonpaulo.springcodegenerator.core.utils.SpoolingOutputStream;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out {@link SpoolingOutputStream}s that keep payloads up to
+ * {@code generator.spool.threshold} on the heap and spill larger ones to
+ * temporary files.
+ * <p>
+ * The files live in a directory of their own, created under
+ * {@code generator.spool.directory}, or the system temporary directory, the
+ * first time a payload spills. Owners release their payloads once served;
+ * whatever is left is deleted on shutdown.
+ */
+@Slf4j
+@Component
+public class PayloadSpool {
+	private final long threshold;
+	private final Path parentDirectory;
+	private Path directory;
+
+	public PayloadSpool(@Value("${generator.spool.threshold:16MB}") DataSize threshold,
+			@Value("${generator.spool.directory:}") String parentDirectory) {
+		this.threshold = threshold.toBytes();
+		this.parentDirectory = StringUtils.hasText(parentDirectory) ? Path.of(parentDirectory)
+				: Path.of(System.getProperty("java.io.tmpdir"));
+	}
+
+	public SpoolingOutputStream open() {
+		return new SpoolingOutputStream(threshold, this::directory);
+	}
+
+	/**
+	 * Deletes the file of a spilled payload. Payloads held in memory need no
+	 * release.
+	 */
+	public void release(Resource payload) {
+		if (payload == null || !payload.isFile()) {
+			return;
+		}
+
+		try {
+			Files.deleteIfExists(payload.getFile().toPath());
+		} catch (IOException e) {
+			log.warn("Failed to delete the spilled payload {}.", payload.getDescription(), e);
+		}
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (directory == null) {
+			return;
+		}
+
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		} catch (IOException e) {
+			log.warn("Failed to clean up the spool directory {}.", directory, e);
+		}
+	}
+
+	private synchronized Path directory() {
+		if (directory == null) {
+			try {
+				Files.createDirectories(parentDirectory);
+				directory = Files.createTempDirectory(parentDirectory, "generated-payloads-");
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to create the spool directory.", e);
+			}
+		}
+
+		return directory;
+	}
+
+}
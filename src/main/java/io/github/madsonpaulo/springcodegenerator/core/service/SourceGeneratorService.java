@@ -1,46 +1,385 @@
 package io.github.madsonpaulo.springcodegenerator.core.service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.cache.ArtifactCache;
+import io.github.madsonpaulo.springcodegenerator.core.cache.SingleFlight;
 
 import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.ColumnMetadataDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedJavaSourceDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.JavaAnnotationModelDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.JavaClassModelDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.MetadataFetchPlanDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.StreamedPayloadDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
 import io.github.madsonpaulo.springcodegenerator.core.enums.JavaClassType;
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.utils.ArchiveWriter;
 import io.github.madsonpaulo.springcodegenerator.core.utils.FieldUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.FingerprintUtil;
 import io.github.madsonpaulo.springcodegenerator.core.utils.ImportUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SourcePackagingUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SpoolingOutputStream;
 import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
-import lombok.RequiredArgsConstructor;
 
 @Service
-@RequiredArgsConstructor
 public class SourceGeneratorService {
 	private final TableMetadataService tableMetadataService;
 	private final SourceRendererService sourceRendererService;
+	private final ArtifactCache artifactCache;
+	private final ObjectMapper objectMapper;
+	private final PackagingExecutor packagingExecutor;
+	private final PayloadSpool payloadSpool;
+	private final String generatorVersion;
 
 	private static final String DATA = "Data";
 	private static final String NO_ARGS_CONSTRUCTOR = "NoArgsConstructor";
 	private static final String ALL_ARGS_CONSTRUCTOR = "AllArgsConstructor";
+	private static final String DEFAULT_OUTPUT_NAME = "generated-sources";
+	private static final String SOURCES_ARTIFACT = "sources";
+	private static final String PAYLOAD_ARTIFACT = "payload";
+	private static final String CHECKSUM_ARTIFACT = "checksum";
+	private static final String PAYLOAD_NAME_ARTIFACT = "payload-name";
+	private static final TypeReference<List<GeneratedJavaSourceDto>> SOURCES_TYPE = new TypeReference<>() {
+	};
+
+	private final SingleFlight<String, PreparedGenerationDto> inFlightPreparations = new SingleFlight<>();
+	private final SingleFlight<String, GeneratedPayloadDto> inFlightPayloads = new SingleFlight<>();
+
+	public SourceGeneratorService(TableMetadataService tableMetadataService,
+			SourceRendererService sourceRendererService, ArtifactCache artifactCache, ObjectMapper objectMapper,
+			PackagingExecutor packagingExecutor, PayloadSpool payloadSpool,
+			@Value("${info.app.version:dev}") String generatorVersion) {
+		this.tableMetadataService = tableMetadataService;
+		this.sourceRendererService = sourceRendererService;
+		this.artifactCache = artifactCache;
+		this.objectMapper = objectMapper;
+		this.packagingExecutor = packagingExecutor;
+		this.payloadSpool = payloadSpool;
+		this.generatorVersion = generatorVersion;
+	}
+
+	/**
+	 * Resolves the metadata of the requested tables and the artifact key of each
+	 * one, a fingerprint of the table metadata, the root package and the
+	 * generation flags. The version of the payload also covers the packaging
+	 * options. Tables are sorted by qualified name, so the archive entries, and
+	 * therefore the payload bytes, do not depend on the requested order.
+	 * Identical requests in flight at the same time, once normalized, share one
+	 * resolution and its result or failure.
+	 */
+	public PreparedGenerationDto prepareGeneration(CodeGenerationRequestDto request) {
+		validateRequest(request);
+
+		return inFlightPreparations.execute(normalizedKey(request), () -> {
+			List<String> tableNames = StringUtil.splitCommaSeparatedValues(request.getTableNames());
+			List<TableMetadataDto> tablesMetadata = tableMetadataService
+					.findTableMetadata(tableNames, MetadataFetchPlanDto.forRequest(request)).stream()
+					.sorted(Comparator.comparing(TableMetadataDto::getQualifiedName)).toList();
+
+			String optionsKey = optionsKey(request);
+			List<String> artifactKeys = tablesMetadata.stream().map(tableMetadata -> FingerprintUtil
+					.fingerprint(SOURCES_ARTIFACT, FingerprintUtil.fingerprint(tableMetadata), optionsKey)).toList();
+			String version = FingerprintUtil.fingerprint(Stream.concat(
+					Stream.of(PAYLOAD_ARTIFACT, generatorVersion, packagingKey(request)), artifactKeys.stream())
+					.toArray(String[]::new));
+
+			return new PreparedGenerationDto(request, tablesMetadata, artifactKeys, version);
+		});
+	}
+
+	/**
+	 * Generates the downloadable payload of a prepared request. The payload is
+	 * cached under its version, so an unchanged set of tables is served without
+	 * rendering or packaging again, and concurrent generations of the same
+	 * version share one run.
+	 */
+	public GeneratedPayloadDto generatePayload(PreparedGenerationDto prepared) {
+		return generatePayload(prepared, () -> {
+		});
+	}
+
+	/**
+	 * Same as {@link #generatePayload(PreparedGenerationDto)}, running
+	 * {@code onTableGenerated} after the sources of each table are ready, or for
+	 * every table at once when the payload was cached. A call that joins a
+	 * generation already in flight is not notified.
+	 * <p>
+	 * The file name and content type are cached next to the payload, so a cached
+	 * payload is served without reading or rendering any source.
+	 */
+	public GeneratedPayloadDto generatePayload(PreparedGenerationDto prepared, Runnable onTableGenerated) {
+		return inFlightPayloads.execute(prepared.getVersion(), () -> {
+			Optional<GeneratedPayloadDto> cached = findCachedPayload(prepared.getVersion());
+			if (cached.isPresent()) {
+				prepared.getTablesMetadata().forEach(tableMetadata -> onTableGenerated.run());
+				return cached.get();
+			}
+
+			List<GeneratedJavaSourceDto> generatedSources = generateSources(prepared, onTableGenerated);
+			byte[] payload = packagePayload(prepared.getRequest(), generatedSources);
+
+			PackagingFormat format = SourcePackagingUtil.resolveFormat(prepared.getRequest().getPackagingFormat());
+			String fileName = SourcePackagingUtil.resolveOutputFileName(generatedSources, DEFAULT_OUTPUT_NAME, format);
+			String contentType = SourcePackagingUtil.resolveContentType(generatedSources, format);
+
+			artifactCache.put(prepared.getVersion(), payload);
+			artifactCache.put(FingerprintUtil.fingerprint(PAYLOAD_NAME_ARTIFACT, prepared.getVersion()),
+					(fileName + "\n" + contentType).getBytes(StandardCharsets.UTF_8));
+
+			return new GeneratedPayloadDto(fileName, contentType, new ByteArrayResource(payload),
+					prepared.getVersion(), FingerprintUtil.checksum(payload));
+		});
+	}
+
+	/**
+	 * Returns the cached payload of a version along with its file name and
+	 * content type, or nothing when either was evicted.
+	 */
+	private Optional<GeneratedPayloadDto> findCachedPayload(String version) {
+		Optional<String[]> descriptor = artifactCache
+				.get(FingerprintUtil.fingerprint(PAYLOAD_NAME_ARTIFACT, version))
+				.map(bytes -> new String(bytes, StandardCharsets.UTF_8).split("\n", 2));
+		if (descriptor.isEmpty() || descriptor.get().length != 2) {
+			return Optional.empty();
+		}
+
+		return artifactCache.get(version).map(payload -> new GeneratedPayloadDto(descriptor.get()[0],
+				descriptor.get()[1], new ByteArrayResource(payload), version, FingerprintUtil.checksum(payload)));
+	}
+
+	/**
+	 * Returns an archive payload of a prepared request that is packaged while it
+	 * is written: the sources of each table are rendered, or taken from the
+	 * artifact cache, and written as archive entries before the next table is
+	 * processed, so only one table's sources are held in memory at a time.
+	 * <p>
+	 * The archive is hashed while it is written and its checksum remembered
+	 * under the payload version, since the same version always produces the
+	 * same bytes; later downloads of that version report it upfront.
+	 */
+	public StreamedPayloadDto streamPayload(PreparedGenerationDto prepared) {
+		CodeGenerationRequestDto request = prepared.getRequest();
+		PackagingFormat format = SourcePackagingUtil.resolveFormat(request.getPackagingFormat());
+		String checksumKey = FingerprintUtil.fingerprint(CHECKSUM_ARTIFACT, prepared.getVersion());
+		String checksum = artifactCache.get(checksumKey).map(bytes -> new String(bytes, StandardCharsets.US_ASCII))
+				.orElse(null);
+
+		return new StreamedPayloadDto("%s.%s".formatted(DEFAULT_OUTPUT_NAME, format.getExtension()),
+				format.getMediaType(), prepared.getVersion(), checksum, outputStream -> {
+					DigestOutputStream digestOutputStream = new DigestOutputStream(
+							StreamUtils.nonClosing(outputStream), FingerprintUtil.newDigest());
+
+					try (ArchiveWriter archiveWriter = SourcePackagingUtil.openArchive(digestOutputStream, format,
+							request.getCompressionLevel(), packagingExecutor)) {
+						writeSources(prepared, archiveWriter);
+						archiveWriter.finish();
+					}
+
+					artifactCache.put(checksumKey, FingerprintUtil.checksum(digestOutputStream.getMessageDigest())
+							.getBytes(StandardCharsets.US_ASCII));
+				});
+	}
+
+	/**
+	 * Packages the archive of a prepared request, one table at a time like
+	 * {@link #streamPayload}, into a payload owned by the caller: kept in memory
+	 * up to {@code generator.spool.threshold}, spilled to a temporary file
+	 * beyond, which the caller hands back to {@link PayloadSpool#release} once
+	 * served. Unlike {@link #generatePayload}, the whole payload is neither
+	 * cached nor shared with concurrent generations.
+	 */
+	public GeneratedPayloadDto spoolPayload(PreparedGenerationDto prepared, Runnable onTableGenerated) {
+		CodeGenerationRequestDto request = prepared.getRequest();
+		PackagingFormat format = SourcePackagingUtil.resolveFormat(request.getPackagingFormat());
+
+		SpoolingOutputStream spool = payloadSpool.open();
+		DigestOutputStream digestOutputStream = new DigestOutputStream(spool, FingerprintUtil.newDigest());
+		try (ArchiveWriter archiveWriter = SourcePackagingUtil.openArchive(digestOutputStream, format,
+				request.getCompressionLevel(), packagingExecutor)) {
+			writeSources(prepared, archiveWriter, onTableGenerated);
+			archiveWriter.finish();
+		} catch (IOException e) {
+			spool.discard();
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, request.getTableNames(),
+					"Failed to package the generated sources.", e);
+		} catch (RuntimeException e) {
+			spool.discard();
+			throw e;
+		}
+
+		return new GeneratedPayloadDto("%s.%s".formatted(DEFAULT_OUTPUT_NAME, format.getExtension()),
+				format.getMediaType(), spool.toResource(), prepared.getVersion(),
+				FingerprintUtil.checksum(digestOutputStream.getMessageDigest()));
+	}
+
+	/**
+	 * Writes the sources of each prepared table to an open archive, one table at
+	 * a time.
+	 */
+	public void writeSources(PreparedGenerationDto prepared, ArchiveWriter archiveWriter) throws IOException {
+		writeSources(prepared, archiveWriter, () -> {
+		});
+	}
+
+	private void writeSources(PreparedGenerationDto prepared, ArchiveWriter archiveWriter, Runnable onTableGenerated)
+			throws IOException {
+		for (int i = 0; i < prepared.getTablesMetadata().size(); i++) {
+			SourcePackagingUtil.writeSources(archiveWriter, tableSources(prepared, i));
+			onTableGenerated.run();
+		}
+	}
 
 	public List<GeneratedJavaSourceDto> generateSources(CodeGenerationRequestDto request) {
-		List<JavaClassModelDto> classModels = buildClassModels(request);
+		return generateSources(prepareGeneration(request));
+	}
 
-		return sourceRendererService.render(classModels);
+	/**
+	 * Returns the sources of each prepared table, from the artifact cache when a
+	 * table with the same fingerprint was already generated with the same
+	 * options, otherwise building and rendering its class models.
+	 */
+	public List<GeneratedJavaSourceDto> generateSources(PreparedGenerationDto prepared) {
+		return generateSources(prepared, () -> {
+		});
 	}
 
-	private List<JavaClassModelDto> buildClassModels(CodeGenerationRequestDto request) {
-		List<String> tableNames = StringUtil.splitCommaSeparatedValues(request.getTableNames());
-		String rootPackage = request.getRootPackage();
+	private List<GeneratedJavaSourceDto> generateSources(PreparedGenerationDto prepared, Runnable onTableGenerated) {
+		List<GeneratedJavaSourceDto> generatedSources = new ArrayList<>();
+
+		for (int i = 0; i < prepared.getTablesMetadata().size(); i++) {
+			generatedSources.addAll(tableSources(prepared, i));
+			onTableGenerated.run();
+		}
 
+		return generatedSources;
+	}
+
+	private List<GeneratedJavaSourceDto> tableSources(PreparedGenerationDto prepared, int index) {
+		TableMetadataDto tableMetadata = prepared.getTablesMetadata().get(index);
+		String key = prepared.getArtifactKeys().get(index);
+
+		return findCachedSources(key).orElseGet(() -> {
+			List<GeneratedJavaSourceDto> rendered = sourceRendererService
+					.render(buildClassModels(tableMetadata, prepared.getRequest()));
+			cacheSources(key, rendered);
+			return rendered;
+		});
+	}
+
+	private Optional<List<GeneratedJavaSourceDto>> findCachedSources(String key) {
+		return artifactCache.get(key).flatMap(bytes -> {
+			try {
+				return Optional.of(objectMapper.readValue(bytes, SOURCES_TYPE));
+			} catch (IOException e) {
+				return Optional.empty();
+			}
+		});
+	}
+
+	private void cacheSources(String key, List<GeneratedJavaSourceDto> sources) {
+		if (!artifactCache.isEnabled()) {
+			return;
+		}
+
+		try {
+			artifactCache.put(key, objectMapper.writeValueAsBytes(sources));
+		} catch (JsonProcessingException e) {
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null,
+					"Failed to cache the generated sources.", e);
+		}
+	}
+
+	private byte[] packagePayload(CodeGenerationRequestDto request, List<GeneratedJavaSourceDto> generatedSources) {
+		try {
+			return SourcePackagingUtil.generatePayload(generatedSources,
+					SourcePackagingUtil.resolveFormat(request.getPackagingFormat()), request.getCompressionLevel(),
+					packagingExecutor).getByteArray();
+		} catch (IOException e) {
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, request.getTableNames(),
+					"Failed to package the generated sources.", e);
+		}
+	}
+
+	public void validateRequest(CodeGenerationRequestDto request) {
+		if (!request.isGenerateEntity() && !request.isGenerateDto() && !request.isGenerateServiceRepository()) {
+			throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null, "No artifact was requested.");
+		}
+
+		Integer compressionLevel = request.getCompressionLevel();
+		if (compressionLevel != null
+				&& (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)) {
+			throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null,
+					"The compression level must be between %d and %d.".formatted(Deflater.NO_COMPRESSION,
+							Deflater.BEST_COMPRESSION));
+		}
+	}
+
+	/**
+	 * Fingerprints everything besides the table metadata that shapes the
+	 * generated sources: the generator version, the root package and the flags.
+	 */
+	public String optionsKey(CodeGenerationRequestDto request) {
+		return FingerprintUtil.fingerprint(generatorVersion, request.getRootPackage(),
+				String.valueOf(request.isGenerateEntity()), String.valueOf(request.isGenerateDto()),
+				String.valueOf(request.isGenerateServiceRepository()));
+	}
+
+	/**
+	 * Fingerprints the packaging options, which shape the payload but not the
+	 * sources.
+	 */
+	private static String packagingKey(CodeGenerationRequestDto request) {
+		return FingerprintUtil.fingerprint(SourcePackagingUtil.resolveFormat(request.getPackagingFormat()).name(),
+				String.valueOf(request.getCompressionLevel()));
+	}
+
+	/**
+	 * Identifies requests that produce the same payload: table names are split,
+	 * trimmed and deduplicated like {@link StringUtil#splitCommaSeparatedValues},
+	 * then upper-cased and sorted, since the catalog lookup ignores their case and
+	 * the prepared tables are sorted anyway.
+	 */
+	static String normalizedKey(CodeGenerationRequestDto request) {
+		String tableNames = StringUtil.splitCommaSeparatedValues(request.getTableNames()).stream()
+				.map(tableName -> tableName.toUpperCase(StringUtil.LOCALE)).distinct().sorted()
+				.collect(Collectors.joining(","));
+
+		return String.join("|", tableNames, StringUtils.trimWhitespace(request.getRootPackage()),
+				String.valueOf(request.isGenerateEntity()), String.valueOf(request.isGenerateDto()),
+				String.valueOf(request.isGenerateServiceRepository()), packagingKey(request));
+	}
+
+	private List<JavaClassModelDto> buildClassModels(TableMetadataDto tableMetadata,
+			CodeGenerationRequestDto request) {
+		String rootPackage = request.getRootPackage();
 		List<JavaClassModelDto> classModels = new ArrayList<>();
-		for (String tableName : tableNames) {
-			TableMetadataDto tableMetadata = tableMetadataService.findTableMetadata(tableName);
 
+		if (request.isGenerateEntity()) {
 			JavaClassModelDto entityModel = generateEntityModel(tableMetadata, rootPackage);
 			classModels.add(entityModel);
 
@@ -48,20 +387,21 @@ public class SourceGeneratorService {
 				JavaClassModelDto entityPkModel = generateEntityPkModel(tableMetadata, rootPackage);
 				classModels.add(entityPkModel);
 			}
+		}
 
-			if (request.isGenerateDto()) {
-				JavaClassModelDto dtoModel = generateDtoModel(tableMetadata, rootPackage);
-				classModels.add(dtoModel);
-			}
+		if (request.isGenerateDto()) {
+			JavaClassModelDto dtoModel = generateDtoModel(tableMetadata, rootPackage);
+			classModels.add(dtoModel);
+		}
 
-			if (request.isGenerateServiceRepository()) {
-				JavaClassModelDto serviceModel = generateServiceModel(tableMetadata, rootPackage);
-				classModels.add(serviceModel);
+		if (request.isGenerateServiceRepository()) {
+			JavaClassModelDto serviceModel = generateServiceModel(tableMetadata, rootPackage);
+			classModels.add(serviceModel);
 
-				JavaClassModelDto repositoryModel = generateRepositoryModel(tableMetadata, rootPackage);
-				classModels.add(repositoryModel);
-			}
+			JavaClassModelDto repositoryModel = generateRepositoryModel(tableMetadata, rootPackage);
+			classModels.add(repositoryModel);
 		}
+
 		return classModels;
 	}
 
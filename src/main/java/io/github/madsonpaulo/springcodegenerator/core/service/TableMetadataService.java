@@ -1,114 +1,359 @@
 package io.github.madsonpaulo.springcodegenerator.core.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import io.github.madsonpaulo.springcodegenerator.core.cache.TableMetadataCache;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.ColumnMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseCatalogDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.MetadataFetchPlanDto;
 import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
 import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
 import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepository;
+import io.github.madsonpaulo.springcodegenerator.core.utils.NamePatternUtil;
 import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
-import lombok.RequiredArgsConstructor;
 
 @Service
-@RequiredArgsConstructor
 public class TableMetadataService {
 	private final TableMetadataRepository repository;
+	private final DatabaseCatalogService databaseCatalogService;
+	private final TableMetadataCache tableMetadataCache;
+	private final CatalogFetchExecutor catalogFetchExecutor;
+	private final CatalogFetchCoalescer catalogFetchCoalescer;
+	private final String defaultDatabaseName;
+	private final int fetchBatchSize;
+
+	private static final String COLUMNS_ONLY_CACHE_SUFFIX = "#columns";
+
+	private static final String OBJECTS_LOOKUP = "objects";
+	private static final String TABLE_INFO_LOOKUP = "table-info";
+	private static final String TABLE_DETAILS_LOOKUP = "table-details";
+	private static final String VIEW_INFO_LOOKUP = "view-info";
+
+	public TableMetadataService(TableMetadataRepository repository, DatabaseCatalogService databaseCatalogService,
+			TableMetadataCache tableMetadataCache, CatalogFetchExecutor catalogFetchExecutor,
+			CatalogFetchCoalescer catalogFetchCoalescer, @Value("${database.name}") String defaultDatabaseName,
+			@Value("${catalog.fetch.batch-size:200}") int fetchBatchSize) {
+		this.repository = repository;
+		this.databaseCatalogService = databaseCatalogService;
+		this.tableMetadataCache = tableMetadataCache;
+		this.catalogFetchExecutor = catalogFetchExecutor;
+		this.catalogFetchCoalescer = catalogFetchCoalescer;
+		this.defaultDatabaseName = defaultDatabaseName;
+		this.fetchBatchSize = fetchBatchSize;
+	}
+
+	public TableMetadataDto findTableMetadata(String qualifiedTableName) {
+		return findTableMetadata(List.of(qualifiedTableName)).get(0);
+	}
 
-	@Value("${database.name}")
-	private String defaultDatabaseName;
+	public List<TableMetadataDto> findTableMetadata(List<String> qualifiedTableNames) {
+		return findTableMetadata(qualifiedTableNames, MetadataFetchPlanDto.full());
+	}
 
-	public static final String SEPARATOR_MULTI_FK = "#";
+	/**
+	 * Resolves the metadata of all the given tables, issuing batches of catalog
+	 * queries per database instead of one query per table. Databases and batches
+	 * are fetched concurrently; the result follows the order of the input. Only
+	 * the metadata of the plan is fetched.
+	 */
+	public List<TableMetadataDto> findTableMetadata(List<String> qualifiedTableNames, MetadataFetchPlanDto plan) {
+		List<TableMetadataDto> requestedTables = qualifiedTableNames.stream().map(this::initTableMetadata).toList();
+
+		Map<String, List<TableMetadataDto>> tablesByDatabase = requestedTables.stream()
+				.collect(Collectors.groupingBy(TableMetadataDto::getDatabaseName, LinkedHashMap::new,
+						Collectors.toList()));
+
+		Map<String, TableMetadataDto> resolvedTables = new ConcurrentHashMap<>();
+		catalogFetchExecutor.runAll(tablesByDatabase.entrySet().stream().map(
+				entry -> (Runnable) () -> resolvedTables.putAll(resolveTablesMetadata(entry.getKey(), entry.getValue(), plan)))
+				.toList());
+
+		return requestedTables.stream().map(table -> resolvedTables.get(table.getQualifiedName())).toList();
+	}
 
-	public TableMetadataDto findTableMetadata(String qualifiedTableName) {
+	/**
+	 * Looks the given tables up in {@code sys.objects}, one batch per database,
+	 * returning those that exist keyed by qualified name. Unlike
+	 * {@link #findTableMetadata(List)}, missing tables are not an error.
+	 */
+	public Map<String, CatalogObjectDto> findCatalogObjects(List<String> qualifiedTableNames) {
+		Map<String, List<String>> namesByDatabase = qualifiedTableNames.stream().map(this::initTableMetadata)
+				.collect(Collectors.groupingBy(TableMetadataDto::getDatabaseName, LinkedHashMap::new,
+						Collectors.mapping(TableMetadataDto::getTableName, Collectors.toList())));
+
+		Map<String, CatalogObjectDto> objects = new ConcurrentHashMap<>();
+		catalogFetchExecutor.runAll(namesByDatabase.entrySet().stream()
+				.map(entry -> (Runnable) () -> fetchObjects(entry.getKey(), entry.getValue())
+						.forEach((name, object) -> objects.put("%s.%s".formatted(entry.getKey(), name), object)))
+				.toList());
+
+		return objects;
+	}
+
+	/**
+	 * Lists the qualified names of the tables and views of the database whose
+	 * names match at least one of the include patterns and none of the exclude
+	 * patterns, in SQL Server {@code LIKE} syntax, sorted by name. They are
+	 * filtered from the in-memory catalog when it is enabled, otherwise found
+	 * with a single {@code sys.objects} query.
+	 */
+	public List<String> findMatchingTableNames(String databaseName, List<String> includePatterns,
+			List<String> excludePatterns) {
+		Predicate<String> matcher = NamePatternUtil.matcher(includePatterns, excludePatterns);
+
+		Optional<DatabaseCatalogDto> catalog = databaseCatalogService.findCatalog(databaseName);
+		Stream<String> names = catalog.isPresent()
+				? catalog.get().getTableNames().stream().filter(matcher)
+				: catalogFetchExecutor.withPermit(databaseName,
+						() -> repository.fetchMatchingObjects(databaseName, includePatterns, excludePatterns))
+						.stream().map(CatalogObjectDto::getObjectName);
+
+		return names.sorted().map(name -> "%s.%s".formatted(databaseName, name)).toList();
+	}
+
+	/**
+	 * Qualifies a table name with the default database when it has no database
+	 * prefix, in the upper case used by the catalog lookups.
+	 */
+	public String qualifyTableName(String tableName) {
+		return initTableMetadata(tableName).getQualifiedName();
+	}
+
+	private TableMetadataDto initTableMetadata(String qualifiedTableName) {
 		TableMetadataDto tableMetadata = new TableMetadataDto();
 
 		String tableName = StringUtil.extractTableName(qualifiedTableName);
 		tableMetadata.setTableName(tableName);
 
 		String databaseName = StringUtil.extractDatabaseName(qualifiedTableName);
-		tableMetadata.setDatabaseName(databaseName);
+		tableMetadata.setDatabaseName(databaseName != null ? databaseName : defaultDatabaseName);
+
+		return tableMetadata;
+	}
+
+	/**
+	 * Resolves the tables of one database, from the in-memory catalog when it is
+	 * enabled, otherwise from the metadata cache and, for the remaining tables,
+	 * from the catalog views. The type and modification date of every name are
+	 * looked up first in a single batch, so each name is routed to the table or
+	 * view query and cached entries are validated against the catalog.
+	 */
+	private Map<String, TableMetadataDto> resolveTablesMetadata(String databaseName,
+			List<TableMetadataDto> tablesMetadata, MetadataFetchPlanDto plan) {
+		Optional<DatabaseCatalogDto> catalog = databaseCatalogService.findCatalog(databaseName);
+		if (catalog.isPresent()) {
+			populateTablesMetadata(tablesMetadata, catalog.get().getTablesByName(),
+					plan.isForeignKeys() ? catalog.get().getForeignKeysByTable() : Map.of());
+
+			return indexByQualifiedName(tablesMetadata);
+		}
 
-		populateColumnsMetadata(tableMetadata);
-		ensureAtLeastOnePk(tableMetadata);
+		Map<String, LocalDateTime> modifyDates = resolveObjectTypes(databaseName, tablesMetadata);
+		Map<String, TableMetadataDto> resolvedTables = new HashMap<>();
+		List<TableMetadataDto> pendingTables = tablesMetadata;
 
-		String javaName = StringUtil.resolveJavaClassName(tableMetadata.getTableDescription(),
-				tableMetadata.getTableName());
-		tableMetadata.setJavaName(javaName);
+		if (tableMetadataCache.isEnabled()) {
+			pendingTables = new ArrayList<>();
+			for (TableMetadataDto tableMetadata : tablesMetadata) {
+				Optional<TableMetadataDto> cached = findCached(tableMetadata, plan,
+						modifyDates.get(tableMetadata.getTableName()));
 
-		Map<String, ForeignKeyDto> foreignKeyMap = fetchForeignKeyMap(tableMetadata);
-		tableMetadata.getColumns().forEach(column -> {
-			if (foreignKeyMap.containsKey(column.getColumnName())) {
-				column.setForeignKeyComment(extractForeignKeyComment(foreignKeyMap.get(column.getColumnName())));
+				if (cached.isPresent()) {
+					resolvedTables.put(tableMetadata.getQualifiedName(), cached.get());
+				} else {
+					pendingTables.add(tableMetadata);
+				}
 			}
-		});
+		}
 
-		return tableMetadata;
+		if (!pendingTables.isEmpty()) {
+			fetchTablesMetadata(databaseName, pendingTables, plan);
+
+			for (TableMetadataDto tableMetadata : pendingTables) {
+				resolvedTables.put(tableMetadata.getQualifiedName(), tableMetadata);
+				tableMetadataCache.put(cacheKey(tableMetadata, plan), tableMetadata,
+						modifyDates.get(tableMetadata.getTableName()));
+			}
+		}
+
+		return resolvedTables;
 	}
 
-	public Map<String, ForeignKeyDto> fetchForeignKeyMap(TableMetadataDto tableMetadata) {
-		try {
-			String databaseName = tableMetadata.getDatabaseName() != null ? tableMetadata.getDatabaseName()
-					: defaultDatabaseName;
-			List<ForeignKeyDto> foreignKeys = repository.fetchForeignKeys(databaseName, tableMetadata.getTableName());
-
-			return foreignKeys.stream()
-					.collect(Collectors.toMap(ForeignKeyDto::getSourceColumnName, Function.identity(), (fk1, fk2) -> {
-						fk1.setForeignKeyName(concatSep(fk1.getForeignKeyName(), fk2.getForeignKeyName()));
-						fk1.setReferencedTableName(
-								concatSep(fk1.getReferencedTableName(), fk2.getReferencedTableName()));
-						fk1.setReferencedColumnName(
-								concatSep(fk1.getReferencedColumnName(), fk2.getReferencedColumnName()));
-						return fk1;
-					}));
-		} catch (Exception e) {
-			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, tableMetadata.getTableName(),
-					e.getMessage(), e);
+	/**
+	 * Sets the object type of each table from one batched {@code sys.objects}
+	 * lookup, shared with concurrent requests, failing fast for names that are
+	 * neither a table nor a view, and returns the modification dates by name.
+	 */
+	private Map<String, LocalDateTime> resolveObjectTypes(String databaseName, List<TableMetadataDto> tablesMetadata) {
+		Map<String, CatalogObjectDto> objects = fetchObjects(databaseName,
+				tablesMetadata.stream().map(TableMetadataDto::getTableName).distinct().toList());
+
+		Map<String, LocalDateTime> modifyDates = new HashMap<>();
+		for (TableMetadataDto tableMetadata : tablesMetadata) {
+			CatalogObjectDto object = objects.get(tableMetadata.getTableName());
+
+			if (object == null) {
+				throw notFound(tableMetadata.getTableName());
+			}
+
+			tableMetadata.setObjectType(object.getObjectType());
+			if (object.getModifyDate() != null) {
+				modifyDates.put(object.getObjectName(), object.getModifyDate());
+			}
 		}
+
+		return modifyDates;
 	}
 
-	private void populateColumnsMetadata(TableMetadataDto tableMetadata) {
-		List<Object[]> tableInfo = findTableInfo(tableMetadata);
+	private Map<String, CatalogObjectDto> fetchObjects(String databaseName, List<String> tableNames) {
+		return catalogFetchCoalescer.fetch(databaseName, OBJECTS_LOOKUP, tableNames,
+				names -> repository.fetchObjects(databaseName, names).stream().collect(
+						Collectors.toMap(CatalogObjectDto::getObjectName, Function.identity(), (o1, o2) -> o1)));
+	}
 
-		if (tableInfo.isEmpty()) {
-			String message = "Table '%s' was not found in the system catalog views."
-					.formatted(tableMetadata.getTableName());
+	/**
+	 * Looks the table up in the metadata cache. A fully resolved entry also
+	 * serves plans that do not need foreign keys.
+	 */
+	private Optional<TableMetadataDto> findCached(TableMetadataDto tableMetadata, MetadataFetchPlanDto plan,
+			LocalDateTime modifyDate) {
+		Optional<TableMetadataDto> cached = tableMetadataCache.get(tableMetadata.getQualifiedName(), modifyDate);
 
-			throw new CodeGenerationException(HttpStatus.NOT_FOUND, tableMetadata.getTableName(), message);
+		if (cached.isEmpty() && !plan.isForeignKeys()) {
+			cached = tableMetadataCache.get(cacheKey(tableMetadata, plan), modifyDate);
 		}
 
-		tableMetadata.setTableDescription((String) tableInfo.get(0)[1]);
+		return cached;
+	}
 
-		List<ColumnMetadataDto> columnsMetadata = tableInfo.stream().map(registro -> {
-			String columnName = (String) registro[2];
-			String columnSqlType = (String) registro[3];
-			String columnDescription = (String) registro[4];
+	private String cacheKey(TableMetadataDto tableMetadata, MetadataFetchPlanDto plan) {
+		return plan.isForeignKeys() ? tableMetadata.getQualifiedName()
+				: tableMetadata.getQualifiedName() + COLUMNS_ONLY_CACHE_SUFFIX;
+	}
 
-			String allowsNull = registro[5] != null ? registro[5].toString() : null;
+	/**
+	 * Fetches the tables from the catalog views in batches of
+	 * {@code catalog.fetch.batch-size}, running the batches concurrently within
+	 * the permits of the database. Columns, primary keys and, when the plan needs
+	 * them, foreign keys of a batch come back together from a single statement,
+	 * which concurrent requests for the same database share.
+	 */
+	private void fetchTablesMetadata(String databaseName, List<TableMetadataDto> tablesMetadata,
+			MetadataFetchPlanDto plan) {
+		List<Runnable> tasks = ListUtils.partition(tablesMetadata, fetchBatchSize).stream()
+				.map(batch -> (Runnable) () -> {
+					Map<String, TableMetadataDto> tableInfoMap = findTableInfoMap(databaseName, batch, plan);
+					Map<String, List<ForeignKeyDto>> foreignKeysMap = DatabaseCatalogDto.indexForeignKeys(tableInfoMap
+							.values().stream().flatMap(tableInfo -> tableInfo.getForeignKeys().stream()).toList());
+
+					populateTablesMetadata(batch, tableInfoMap, foreignKeysMap);
+				}).toList();
+
+		catalogFetchExecutor.runAll(tasks);
+	}
 
-			Integer length = registro[6] != null ? ((Number) registro[6]).intValue() : null;
+	private void populateTablesMetadata(List<TableMetadataDto> tablesMetadata,
+			Map<String, TableMetadataDto> tableInfoMap, Map<String, List<ForeignKeyDto>> foreignKeysMap) {
+		for (TableMetadataDto tableMetadata : tablesMetadata) {
+			populateColumnsMetadata(tableMetadata, tableInfoMap.get(tableMetadata.getTableName()));
+			ensureAtLeastOnePk(tableMetadata);
+
+			String javaName = StringUtil.resolveJavaClassName(tableMetadata.getTableDescription(),
+					tableMetadata.getTableName());
+			tableMetadata.setJavaName(javaName);
+
+			Map<String, ForeignKeyDto> foreignKeyMap = toForeignKeyMap(
+					foreignKeysMap.getOrDefault(tableMetadata.getTableName(), List.of()));
+			tableMetadata.getColumns().forEach(column -> {
+				if (foreignKeyMap.containsKey(column.getColumnName())) {
+					column.setForeignKeyComment(extractForeignKeyComment(foreignKeyMap.get(column.getColumnName())));
+				}
+			});
+		}
+	}
 
-			Integer precision = registro[7] != null ? ((Number) registro[7]).intValue() : null;
+	private Map<String, TableMetadataDto> indexByQualifiedName(List<TableMetadataDto> tablesMetadata) {
+		return tablesMetadata.stream().collect(Collectors.toMap(TableMetadataDto::getQualifiedName,
+				Function.identity(), (table1, table2) -> table1));
+	}
 
-			Integer scale = registro[8] != null ? ((Number) registro[8]).intValue() : null;
+	private Map<String, TableMetadataDto> findTableInfoMap(String databaseName, List<TableMetadataDto> tablesMetadata,
+			MetadataFetchPlanDto plan) {
+		List<String> viewNames = tablesMetadata.stream().filter(TableMetadataDto::isView)
+				.map(TableMetadataDto::getTableName).distinct().toList();
+		List<String> tableNames = tablesMetadata.stream().filter(t -> !t.isView()).map(TableMetadataDto::getTableName)
+				.distinct().toList();
+
+		Map<String, TableMetadataDto> tableInfoMap = new HashMap<>(plan.isForeignKeys()
+				? catalogFetchCoalescer.fetch(databaseName, TABLE_DETAILS_LOOKUP, tableNames,
+						names -> indexTables(names, () -> repository.fetchTableDetails(databaseName, names)))
+				: catalogFetchCoalescer.fetch(databaseName, TABLE_INFO_LOOKUP, tableNames,
+						names -> indexTables(names, () -> repository.fetchTableInfo(databaseName, names))));
+		tableInfoMap.putAll(catalogFetchCoalescer.fetch(databaseName, VIEW_INFO_LOOKUP, viewNames,
+				names -> indexTables(names, () -> repository.fetchViewInfo(databaseName, names))));
+
+		return tableInfoMap;
+	}
 
-			boolean primaryKey = (registro[9] instanceof Number number && number.intValue() > 0)
-					|| (registro[10] != null && "Y".equalsIgnoreCase(registro[10].toString()));
+	private Map<String, TableMetadataDto> indexTables(List<String> names, Supplier<List<TableMetadataDto>> fetch) {
+		try {
+			return DatabaseCatalogDto.indexTables(fetch.get());
+		} catch (CodeGenerationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, String.join(", ", names),
+					e.getMessage(), e);
+		}
+	}
 
-			String identityFlag = registro[10] != null ? registro[10].toString() : null;
+	private Map<String, ForeignKeyDto> toForeignKeyMap(List<ForeignKeyDto> foreignKeys) {
+		return foreignKeys.stream()
+				.collect(Collectors.toMap(ForeignKeyDto::getSourceColumnName, Function.identity(),
+						(fk1, fk2) -> new ForeignKeyDto(fk1.getSourceTableName(), fk1.getSourceColumnName(),
+								concatSep(fk1.getForeignKeyName(), fk2.getForeignKeyName()),
+								concatSep(fk1.getReferencedTableName(), fk2.getReferencedTableName()),
+								concatSep(fk1.getReferencedColumnName(), fk2.getReferencedColumnName()))));
+	}
 
-			String javaName = StringUtil.resolveJavaAttributeName(columnDescription, columnName);
+	/**
+	 * Copies the raw catalog columns into the requested table, resolving their
+	 * Java names. The catalog DTOs are never modified, since they may be shared
+	 * by the in-memory catalog.
+	 */
+	private void populateColumnsMetadata(TableMetadataDto tableMetadata, TableMetadataDto tableInfo) {
+		if (tableInfo == null || tableInfo.getColumns().isEmpty()) {
+			throw notFound(tableMetadata.getTableName());
+		}
 
-			return new ColumnMetadataDto(columnName, columnSqlType, columnDescription, javaName, null, null, allowsNull,
-					identityFlag, length, precision, scale, primaryKey);
+		tableMetadata.setObjectType(tableInfo.getObjectType());
+		tableMetadata.setTableDescription(tableInfo.getTableDescription());
+
+		List<ColumnMetadataDto> columnsMetadata = tableInfo.getColumns().stream().map(column -> {
+			ColumnMetadataDto columnMetadata = column.copy();
+			columnMetadata.setPrimaryKey(column.isPrimaryKey() || column.isIdentity());
+			columnMetadata.setJavaName(
+					StringUtil.resolveJavaAttributeName(column.getColumnDescription(), column.getColumnName()));
+
+			return columnMetadata;
 		}).toList();
 
 		columnsMetadata.forEach(column -> {
@@ -119,6 +364,12 @@ public class TableMetadataService {
 		tableMetadata.getColumns().addAll(columnsMetadata);
 	}
 
+	private CodeGenerationException notFound(String tableName) {
+		String message = "Table '%s' was not found in the system catalog views.".formatted(tableName);
+
+		return new CodeGenerationException(HttpStatus.NOT_FOUND, tableName, message);
+	}
+
 	private void ensureAtLeastOnePk(TableMetadataDto tableMetadata) {
 		List<ColumnMetadataDto> columns = tableMetadata.getColumns();
 
@@ -129,17 +380,6 @@ public class TableMetadataService {
 		}
 	}
 
-	private List<Object[]> findTableInfo(TableMetadataDto tableMetadata) {
-		try {
-			return tableMetadata.isView()
-					? repository.fetchViewInfo(tableMetadata.getDatabaseName(), tableMetadata.getTableName())
-					: repository.fetchTableInfo(tableMetadata.getDatabaseName(), tableMetadata.getTableName());
-		} catch (InvalidDataAccessResourceUsageException e) {
-			throw new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, tableMetadata.getTableName(),
-					e.getMessage(), e);
-		}
-	}
-
 	private String resolveJavaAttributeType(String tableName, ColumnMetadataDto columnMetadata) {
 		String columnName = columnMetadata.getColumnName();
 		String columnSqlType = columnMetadata.getColumnSqlType().toUpperCase();
@@ -173,7 +413,7 @@ public class TableMetadataService {
 	}
 
 	private String extractForeignKeyComment(ForeignKeyDto fk) {
-		final String SEP = SEPARATOR_MULTI_FK;
+		final String SEP = ForeignKeyDto.SEPARATOR;
 
 		Function<String, String[]> splitOrOne = s -> {
 			if (s == null || s.isBlank())
@@ -207,7 +447,7 @@ public class TableMetadataService {
 		if (b == null || b.isBlank()) {
 			return a;
 		}
-		return "%s%s%s".formatted(a, SEPARATOR_MULTI_FK, b);
+		return "%s%s%s".formatted(a, ForeignKeyDto.SEPARATOR, b);
 	}
 
 }
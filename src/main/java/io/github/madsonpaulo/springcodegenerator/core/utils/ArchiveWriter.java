@@ -0,0 +1,24 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes the files of a generated archive, in the order they are added.
+ * <p>
+ * The archive is only complete once {@link #finish()} is called; closing an
+ * unfinished writer releases its resources and leaves the archive truncated,
+ * so a generation that fails halfway never produces a valid but incomplete
+ * download.
+ */
+public interface ArchiveWriter extends Closeable {
+
+	void putEntry(String name, byte[] content) throws IOException;
+
+	/**
+	 * Writes whatever the format needs after the last entry, leaving the
+	 * underlying stream open.
+	 */
+	void finish() throws IOException;
+
+}
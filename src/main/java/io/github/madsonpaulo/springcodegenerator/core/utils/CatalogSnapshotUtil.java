@@ -0,0 +1,59 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogSnapshotDto;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+/**
+ * Reads and writes catalog snapshots as gzip-compressed JSON.
+ */
+public final class CatalogSnapshotUtil {
+	public static final String FILE_EXTENSION = ".catalog.json.gz";
+
+	private CatalogSnapshotUtil() {
+		// utility class
+	}
+
+	public static void write(ObjectMapper objectMapper, CatalogSnapshotDto snapshot, OutputStream outputStream)
+			throws IOException {
+		try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+			objectMapper.writeValue(gzipOutputStream, snapshot);
+		}
+	}
+
+	/**
+	 * Reads a snapshot, rejecting files written in an unknown format version.
+	 */
+	public static CatalogSnapshotDto read(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+		try (GZIPInputStream gzipInputStream = new GZIPInputStream(inputStream)) {
+			CatalogSnapshotDto snapshot = objectMapper.readValue(gzipInputStream, CatalogSnapshotDto.class);
+
+			if (snapshot.getFormatVersion() != CatalogSnapshotDto.CURRENT_FORMAT_VERSION) {
+				String message = "Unsupported catalog snapshot format version %d (expected %d)."
+						.formatted(snapshot.getFormatVersion(), CatalogSnapshotDto.CURRENT_FORMAT_VERSION);
+
+				throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null, message);
+			}
+
+			return snapshot;
+		}
+	}
+
+	public static CatalogSnapshotDto read(ObjectMapper objectMapper, Path path) throws IOException {
+		try (InputStream inputStream = Files.newInputStream(path)) {
+			return read(objectMapper, inputStream);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.ColumnMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+
+/**
+ * Computes SHA-256 fingerprints used as content addresses of generated
+ * artifacts.
+ */
+public final class FingerprintUtil {
+	private static final String ALGORITHM = "SHA-256";
+
+	private FingerprintUtil() {
+		// utility class
+	}
+
+	/**
+	 * Fingerprints every field of the resolved table metadata the generators
+	 * read, so equal fingerprints always render equal sources.
+	 */
+	public static String fingerprint(TableMetadataDto tableMetadata) {
+		MessageDigest digest = newDigest();
+
+		update(digest, tableMetadata.getDatabaseName(), tableMetadata.getTableName(),
+				Objects.toString(tableMetadata.getObjectType(), null), tableMetadata.getTableDescription(),
+				tableMetadata.getJavaName());
+
+		for (ColumnMetadataDto column : tableMetadata.getColumns()) {
+			update(digest, column.getColumnName(), column.getColumnSqlType(), column.getColumnDescription(),
+					column.getJavaName(), column.getJavaType(), column.getForeignKeyComment(),
+					String.valueOf(column.isNullable()), String.valueOf(column.isIdentity()),
+					String.valueOf(column.getLength()), String.valueOf(column.getPrecision()),
+					String.valueOf(column.getScale()), String.valueOf(column.isPrimaryKey()));
+		}
+
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Fingerprints an ordered list of values. Each value is length-prefixed, so
+	 * different lists never hash the same input.
+	 */
+	public static String fingerprint(String... values) {
+		MessageDigest digest = newDigest();
+		update(digest, values);
+
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Returns the SHA-256 checksum of a payload in hex, the one binary
+	 * repositories use to deduplicate artifacts.
+	 */
+	public static String checksum(byte[] content) {
+		return HexFormat.of().formatHex(newDigest().digest(content));
+	}
+
+	/**
+	 * Returns the checksum accumulated by a digest from {@link #newDigest()}, for
+	 * payloads hashed while they are written.
+	 */
+	public static String checksum(MessageDigest digest) {
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static void update(MessageDigest digest, String... values) {
+		for (String value : values) {
+			if (value == null) {
+				digest.update((byte) 0);
+				continue;
+			}
+
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			digest.update((byte) 1);
+			digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+			digest.update((byte) ':');
+			digest.update(bytes);
+		}
+	}
+
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available.", e);
+		}
+	}
+
+}
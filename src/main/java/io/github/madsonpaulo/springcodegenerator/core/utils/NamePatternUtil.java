@@ -0,0 +1,61 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Matches object names against SQL Server {@code LIKE} patterns, for the
+ * catalogs that are not queried through SQL: {@code %} matches any sequence,
+ * {@code _} any single character and {@code [...]} a character set. Like the
+ * default SQL Server collations, matching ignores case.
+ */
+public final class NamePatternUtil {
+
+	private NamePatternUtil() {
+	}
+
+	/**
+	 * Returns a predicate accepting the names that match at least one include
+	 * pattern and no exclude pattern.
+	 */
+	public static Predicate<String> matcher(Collection<String> includePatterns, Collection<String> excludePatterns) {
+		List<Pattern> includes = includePatterns.stream().map(NamePatternUtil::toRegex).toList();
+		List<Pattern> excludes = excludePatterns.stream().map(NamePatternUtil::toRegex).toList();
+
+		return name -> includes.stream().anyMatch(pattern -> pattern.matcher(name).matches())
+				&& excludes.stream().noneMatch(pattern -> pattern.matcher(name).matches());
+	}
+
+	private static Pattern toRegex(String likePattern) {
+		StringBuilder regex = new StringBuilder();
+		boolean inSet = false;
+
+		for (char c : likePattern.toCharArray()) {
+			if (inSet) {
+				if (c == '[' || c == '\\' || c == '&') {
+					regex.append('\\');
+				}
+				regex.append(c);
+				inSet = c != ']';
+			} else if (c == '%') {
+				regex.append(".*");
+			} else if (c == '_') {
+				regex.append('.');
+			} else if (c == '[') {
+				regex.append('[');
+				inSet = true;
+			} else {
+				regex.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+
+		if (inSet) {
+			throw new IllegalArgumentException("Unterminated character set in pattern '%s'.".formatted(likePattern));
+		}
+
+		return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+	}
+
+}
@@ -2,15 +2,26 @@ package io.github.madsonpaulo.springcodegenerator.core.utils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.util.StringUtils;
 
 import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedJavaSourceDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
 
 public final class SourcePackagingUtil {
 
@@ -22,10 +33,12 @@ public final class SourcePackagingUtil {
 	 * Generates the final binary payload for the generated Java sources.
 	 * <ul>
 	 * <li>If only one source is provided, returns the .java content directly.</li>
-	 * <li>If multiple sources are provided, returns a ZIP archive.</li>
+	 * <li>If multiple sources are provided, returns an archive in the given
+	 * format, its ZIP entries deflated on the given executor.</li>
 	 * </ul>
 	 */
-	public static ByteArrayResource generatePayload(List<GeneratedJavaSourceDto> generatedSources) throws IOException {
+	public static ByteArrayResource generatePayload(List<GeneratedJavaSourceDto> generatedSources,
+			PackagingFormat format, Integer compressionLevel, Executor executor) throws IOException {
 		if (generatedSources == null || generatedSources.isEmpty()) {
 			throw new IllegalArgumentException("No generated Java sources were provided.");
 		}
@@ -34,38 +47,120 @@ public final class SourcePackagingUtil {
 			return new ByteArrayResource(generatedSources.get(0).getJavaSourceCode().getBytes(StandardCharsets.UTF_8));
 		}
 
-		return generateZipArchive(generatedSources);
+		return generateArchive(generatedSources, Map.of(), format, compressionLevel, executor);
+	}
+
+	/**
+	 * Returns the requested format, or {@link PackagingFormat#ZIP} when none was
+	 * requested.
+	 */
+	public static PackagingFormat resolveFormat(PackagingFormat format) {
+		return format != null ? format : PackagingFormat.ZIP;
 	}
 
 	/**
 	 * Determines the output file name based on the generated sources. Returns
-	 * either a .java or .zip file name.
+	 * either a .java file name or an archive name with the extension of the
+	 * format.
 	 */
-	public static String resolveOutputFileName(List<GeneratedJavaSourceDto> generatedSources, String defaultName) {
+	public static String resolveOutputFileName(List<GeneratedJavaSourceDto> generatedSources, String defaultName,
+			PackagingFormat format) {
 
 		if (generatedSources == null || generatedSources.isEmpty()) {
 			throw new IllegalArgumentException("No generated Java sources were provided.");
 		}
 
 		return generatedSources.size() == 1 ? "%s.java".formatted(generatedSources.get(0).getJavaName())
-				: "%s.zip".formatted(defaultName);
+				: "%s.%s".formatted(defaultName, format.getExtension());
 	}
 
 	/**
-	 * Generates a ZIP archive containing all generated Java source files.
+	 * Determines the content type matching {@link #resolveOutputFileName}.
 	 */
-	private static ByteArrayResource generateZipArchive(List<GeneratedJavaSourceDto> generatedSources)
+	public static String resolveContentType(List<GeneratedJavaSourceDto> generatedSources, PackagingFormat format) {
+		return generatedSources.size() == 1 ? MediaType.APPLICATION_OCTET_STREAM_VALUE : format.getMediaType();
+	}
+
+	/**
+	 * Generates an archive containing all generated Java source files, followed
+	 * by the given additional files, keyed by path, in path order. ZIP entries
+	 * are deflated on the given executor. The archive is produced even when
+	 * there are no sources.
+	 */
+	public static ByteArrayResource generateArchive(List<GeneratedJavaSourceDto> generatedSources,
+			Map<String, String> additionalFiles, PackagingFormat format, Integer compressionLevel, Executor executor)
 			throws IOException {
 		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		writeArchive(outputStream, generatedSources, additionalFiles, format, compressionLevel, executor);
+
+		return new ByteArrayResource(outputStream.toByteArray());
+	}
 
-		try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
-			for (GeneratedJavaSourceDto source : generatedSources) {
-				String filePath = resolveJavaFilePath(source);
-				addFileToZip(zipOutputStream, filePath, source.getJavaSourceCode());
+	/**
+	 * Same as {@link #generateArchive}, writing the archive to a stream, which is
+	 * closed afterwards.
+	 */
+	public static void writeArchive(OutputStream outputStream, List<GeneratedJavaSourceDto> generatedSources,
+			Map<String, String> additionalFiles, PackagingFormat format, Integer compressionLevel, Executor executor)
+			throws IOException {
+		try (ArchiveWriter archiveWriter = openArchive(outputStream, format, compressionLevel, executor)) {
+			writeSources(archiveWriter, generatedSources);
+
+			for (Map.Entry<String, String> file : new TreeMap<>(additionalFiles).entrySet()) {
+				addFileToArchive(archiveWriter, file.getKey(), file.getValue());
 			}
+			archiveWriter.finish();
 		}
+	}
 
-		return new ByteArrayResource(outputStream.toByteArray());
+	/**
+	 * Opens an archive of the given format over a stream. A null compression
+	 * level means the DEFLATE default; {@link PackagingFormat#ZIP_STORED}
+	 * ignores it.
+	 */
+	public static ArchiveWriter openArchive(OutputStream outputStream, PackagingFormat format,
+			Integer compressionLevel, Executor executor) throws IOException {
+		int level = compressionLevel != null ? compressionLevel : Deflater.DEFAULT_COMPRESSION;
+
+		return switch (format) {
+		case ZIP -> new ZipArchiveWriter(outputStream, executor, level);
+		case ZIP_STORED -> new ZipArchiveWriter(outputStream, executor, Deflater.NO_COMPRESSION);
+		case TAR_GZ -> new TarGzArchiveWriter(outputStream, level);
+		};
+	}
+
+	/**
+	 * Adds the generated Java sources to an open archive, one entry per source
+	 * under its package path, so that large generations can be packaged in
+	 * chunks.
+	 */
+	public static void writeSources(ArchiveWriter archiveWriter, List<GeneratedJavaSourceDto> generatedSources)
+			throws IOException {
+		for (GeneratedJavaSourceDto source : generatedSources) {
+			addFileToArchive(archiveWriter, resolveJavaFilePath(source), source.getJavaSourceCode());
+		}
+	}
+
+	/**
+	 * Writes a payload to a response stream. A payload spilled to a file is sent
+	 * with {@link FileChannel#transferTo}, so it is copied by the JDK, through
+	 * the kernel when the target allows it, instead of being read into the heap.
+	 */
+	public static void writePayload(Resource payload, OutputStream outputStream) throws IOException {
+		if (!payload.isFile()) {
+			try (InputStream inputStream = payload.getInputStream()) {
+				inputStream.transferTo(outputStream);
+			}
+			return;
+		}
+
+		try (FileChannel channel = FileChannel.open(payload.getFile().toPath(), StandardOpenOption.READ)) {
+			WritableByteChannel target = Channels.newChannel(outputStream);
+			long size = channel.size();
+			for (long position = 0; position < size;) {
+				position += channel.transferTo(position, size - position, target);
+			}
+		}
 	}
 
 	/**
@@ -81,15 +176,11 @@ public final class SourcePackagingUtil {
 	}
 
 	/**
-	 * Adds a single file entry to the ZIP output stream.
+	 * Adds a single file entry to the archive.
 	 */
-	private static void addFileToZip(ZipOutputStream zipOutputStream, String filePath, String content)
+	private static void addFileToArchive(ArchiveWriter archiveWriter, String filePath, String content)
 			throws IOException {
-		ZipEntry zipEntry = new ZipEntry(filePath);
-		zipOutputStream.putNextEntry(zipEntry);
-
-		zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
-		zipOutputStream.closeEntry();
+		archiveWriter.putEntry(filePath, content.getBytes(StandardCharsets.UTF_8));
 	}
 
 }
@@ -0,0 +1,126 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Collects a payload in memory until it grows beyond a threshold, then spills
+ * it, and everything written after, to a temporary file.
+ * <p>
+ * Once closed, the payload is available as a {@link Resource}: a
+ * {@link ByteArrayResource} when it stayed under the threshold, otherwise a
+ * {@link FileSystemResource} over the file, which the owner of the payload
+ * deletes when it is no longer needed.
+ */
+public final class SpoolingOutputStream extends OutputStream {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final long threshold;
+	private final Supplier<Path> directory;
+
+	private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+	private Path file;
+	private OutputStream fileStream;
+	private long size;
+	private boolean closed;
+
+	/**
+	 * @param directory supplies the directory of the temporary file, only asked
+	 *                  for when the payload spills
+	 */
+	public SpoolingOutputStream(long threshold, Supplier<Path> directory) {
+		this.threshold = threshold;
+		this.directory = directory;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (closed) {
+			throw new IOException("The spooled payload was already closed.");
+		}
+
+		if (file == null && size + len > threshold) {
+			spill();
+		}
+
+		(file == null ? memory : fileStream).write(b, off, len);
+		size += len;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (fileStream != null) {
+			fileStream.flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		if (fileStream != null) {
+			fileStream.close();
+		}
+	}
+
+	public boolean isSpilled() {
+		return file != null;
+	}
+
+	/**
+	 * Returns the payload written to the closed stream.
+	 */
+	public Resource toResource() {
+		if (!closed) {
+			throw new IllegalStateException("The spooled payload is still being written.");
+		}
+
+		return file != null ? new FileSystemResource(file) : new ByteArrayResource(memory.toByteArray());
+	}
+
+	/**
+	 * Closes the stream and deletes its file, if it spilled, for payloads that
+	 * failed halfway.
+	 */
+	public void discard() {
+		try {
+			close();
+		} catch (IOException e) {
+			// the file is deleted anyway
+		}
+
+		try {
+			if (file != null) {
+				Files.deleteIfExists(file);
+			}
+		} catch (IOException e) {
+			// left to the cleanup of the spool directory
+		}
+	}
+
+	private void spill() throws IOException {
+		file = Files.createTempFile(directory.get(), "payload-", ".tmp");
+		fileStream = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+
+		memory.writeTo(fileStream);
+		memory = null;
+	}
+
+}
@@ -0,0 +1,205 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a POSIX (ustar) tar archive compressed with GZIP.
+ * <p>
+ * The whole archive is a single DEFLATE stream, so the many similar generated
+ * classes compress better than as separate ZIP entries, at the cost of being
+ * compressed sequentially on the calling thread. Paths that do not fit the
+ * ustar name and prefix fields are written with a PAX extended header.
+ * <p>
+ * Like {@link ZipArchiveWriter}, entries carry a fixed timestamp, owner and
+ * mode, so the same entries at the same compression level always produce the
+ * same bytes.
+ */
+public final class TarGzArchiveWriter implements ArchiveWriter {
+	private static final int BLOCK_SIZE = 512;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int NAME_SIZE = 100;
+	private static final int PREFIX_SIZE = 155;
+	// 1980-01-01T00:00:00Z, the same fixed date as the ZIP entries
+	private static final long MODIFICATION_TIME = 315_532_800L;
+
+	private static final byte REGULAR_FILE = '0';
+	private static final byte PAX_HEADER = 'x';
+	private static final String PAX_HEADER_NAME = "././@PaxHeader";
+	private static final byte[] USTAR_MAGIC = "ustar".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] USTAR_VERSION = "00".getBytes(StandardCharsets.US_ASCII);
+
+	private final LeveledGzipOutputStream outputStream;
+	private final Set<String> names = new HashSet<>();
+	private boolean finished;
+
+	public TarGzArchiveWriter(OutputStream outputStream) throws IOException {
+		this(outputStream, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	public TarGzArchiveWriter(OutputStream outputStream, int compressionLevel) throws IOException {
+		this.outputStream = new LeveledGzipOutputStream(outputStream, compressionLevel);
+	}
+
+	@Override
+	public void putEntry(String name, byte[] content) throws IOException {
+		if (finished) {
+			throw new IOException("The tar archive was already finished.");
+		}
+		if (!names.add(name)) {
+			throw new IOException("duplicate entry: " + name);
+		}
+
+		byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+		int prefixLength = prefixLength(encodedName);
+
+		if (prefixLength < 0) {
+			byte[] record = paxRecord("path", name);
+			outputStream.write(header(PAX_HEADER_NAME.getBytes(StandardCharsets.US_ASCII), 0, PAX_HEADER,
+					record.length));
+			writePadded(record);
+
+			encodedName = Arrays.copyOf(encodedName, NAME_SIZE);
+			prefixLength = 0;
+		}
+
+		outputStream.write(header(encodedName, prefixLength, REGULAR_FILE, content.length));
+		writePadded(content);
+	}
+
+	/**
+	 * Writes the two empty blocks that end the tar archive and the GZIP
+	 * trailer, leaving the underlying stream open.
+	 */
+	@Override
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+
+		outputStream.write(new byte[2 * BLOCK_SIZE]);
+		outputStream.finish();
+		outputStream.flush();
+		finished = true;
+	}
+
+	/**
+	 * Closes the underlying stream. An archive that was not
+	 * {@link #finish() finished} is left without its GZIP trailer, so readers
+	 * report it as truncated.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (finished) {
+			outputStream.close();
+		} else {
+			outputStream.abort();
+		}
+	}
+
+	/**
+	 * Returns where to split a path between the prefix and the name fields of a
+	 * ustar header, 0 when the name field is enough and -1 when the path needs a
+	 * PAX header.
+	 */
+	private static int prefixLength(byte[] encodedName) {
+		if (encodedName.length <= NAME_SIZE) {
+			return 0;
+		}
+
+		for (int i = Math.min(PREFIX_SIZE, encodedName.length - 1); i > 0; i--) {
+			if (encodedName[i] == '/' && encodedName.length - i - 1 <= NAME_SIZE) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private byte[] header(byte[] encodedName, int prefixLength, byte type, long size) {
+		byte[] header = new byte[BLOCK_SIZE];
+		if (prefixLength > 0) {
+			System.arraycopy(encodedName, prefixLength + 1, header, 0, encodedName.length - prefixLength - 1);
+			System.arraycopy(encodedName, 0, header, 345, prefixLength);
+		} else {
+			System.arraycopy(encodedName, 0, header, 0, encodedName.length);
+		}
+
+		putOctal(header, 100, 8, 0644);
+		putOctal(header, 108, 8, 0);
+		putOctal(header, 116, 8, 0);
+		putOctal(header, 124, 12, size);
+		putOctal(header, 136, 12, MODIFICATION_TIME);
+		header[156] = type;
+		System.arraycopy(USTAR_MAGIC, 0, header, 257, USTAR_MAGIC.length);
+		System.arraycopy(USTAR_VERSION, 0, header, 263, USTAR_VERSION.length);
+
+		// the checksum is computed with its own field filled with spaces
+		Arrays.fill(header, 148, 156, (byte) ' ');
+		long checksum = 0;
+		for (byte b : header) {
+			checksum += b & 0xFF;
+		}
+		putOctal(header, 148, 7, checksum);
+
+		return header;
+	}
+
+	/**
+	 * Writes a zero-terminated octal number filling a header field.
+	 */
+	private static void putOctal(byte[] header, int offset, int length, long value) {
+		String octal = "%0" + (length - 1) + "o";
+		byte[] digits = octal.formatted(value).getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(digits, 0, header, offset, length - 1);
+		header[offset + length - 1] = 0;
+	}
+
+	/**
+	 * Builds a PAX record, {@code "<length> <key>=<value>\n"}, whose length
+	 * counts its own digits.
+	 */
+	private static byte[] paxRecord(String key, String value) {
+		int contentLength = (" " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8).length;
+		int length = contentLength + String.valueOf(contentLength).length();
+		if (String.valueOf(length).length() != String.valueOf(contentLength).length()) {
+			length++;
+		}
+
+		return (length + " " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void writePadded(byte[] content) throws IOException {
+		outputStream.write(content);
+
+		int remainder = content.length % BLOCK_SIZE;
+		if (remainder > 0) {
+			outputStream.write(new byte[BLOCK_SIZE - remainder]);
+		}
+	}
+
+	/**
+	 * GZIP stream with a configurable compression level that can be discarded
+	 * without writing its trailer.
+	 */
+	private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+		LeveledGzipOutputStream(OutputStream outputStream, int compressionLevel) throws IOException {
+			super(outputStream, BUFFER_SIZE);
+			def.setLevel(compressionLevel);
+		}
+
+		void abort() throws IOException {
+			def.end();
+			out.close();
+		}
+
+	}
+
+}
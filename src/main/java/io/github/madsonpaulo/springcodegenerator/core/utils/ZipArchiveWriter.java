@@ -0,0 +1,301 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a ZIP archive whose entries are deflated concurrently.
+ * <p>
+ * {@link java.util.zip.ZipOutputStream} compresses every entry on the calling
+ * thread. Here each entry is deflated into its own buffer, along with its CRC,
+ * by a task of the given executor, and the buffers are written in the order
+ * the entries were added, so the local headers carry the final CRC and sizes
+ * and the archive is the same whatever order the tasks complete in. At most
+ * {@value #MAX_PENDING_ENTRIES} entries are in flight; adding another one
+ * first writes the oldest.
+ * <p>
+ * A compression level of {@link Deflater#NO_COMPRESSION} stores the entries
+ * uncompressed, like {@code zip -0}; the executor then only computes the CRCs.
+ * <p>
+ * The output is reproducible: entries carry a fixed timestamp and no
+ * platform-dependent attributes, so the same entries at the same compression
+ * level always produce the same bytes.
+ * <p>
+ * The archive is only complete once {@link #finish()} is called. Archives with
+ * more than 65535 entries get a ZIP64 end of central directory record;
+ * archives larger than 4 GB are not supported.
+ */
+public final class ZipArchiveWriter implements ArchiveWriter {
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_SIZE = 22;
+	private static final int ZIP64_END_SIZE = 56;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+
+	private static final int VERSION = 20;
+	private static final int ZIP64_VERSION = 45;
+	private static final int UTF8_FLAG = 0x0800;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+	private static final int MAX_16 = 0xFFFF;
+	private static final long MAX_32 = 0xFFFFFFFFL;
+
+	// every entry is dated 1980-01-01 00:00, the earliest DOS date, so the bytes
+	// only depend on the entries
+	private static final int DOS_TIME = 0;
+	private static final int DOS_DATE = 1 << 5 | 1;
+
+	static final int MAX_PENDING_ENTRIES = 64;
+
+	private final OutputStream outputStream;
+	private final Executor executor;
+	private final int compressionLevel;
+
+	private final Deque<Future<CompressedEntry>> pendingEntries = new ArrayDeque<>();
+	private final List<CentralEntry> writtenEntries = new ArrayList<>();
+	private final Set<String> names = new HashSet<>();
+	private long offset;
+	private boolean finished;
+
+	public ZipArchiveWriter(OutputStream outputStream, Executor executor) {
+		this(outputStream, executor, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	public ZipArchiveWriter(OutputStream outputStream, Executor executor, int compressionLevel) {
+		this.outputStream = outputStream;
+		this.executor = executor;
+		this.compressionLevel = compressionLevel;
+	}
+
+	/**
+	 * Schedules the compression of an entry. Entries are written in the order
+	 * they are added.
+	 */
+	@Override
+	public void putEntry(String name, byte[] content) throws IOException {
+		if (finished) {
+			throw new IOException("The ZIP archive was already finished.");
+		}
+		if (!names.add(name)) {
+			throw new ZipException("duplicate entry: " + name);
+		}
+
+		FutureTask<CompressedEntry> task = new FutureTask<>(() -> compress(name, content));
+		pendingEntries.add(task);
+		executor.execute(task);
+
+		if (pendingEntries.size() >= MAX_PENDING_ENTRIES) {
+			writeNextEntry();
+		}
+	}
+
+	/**
+	 * Writes the remaining entries and the central directory, leaving the
+	 * underlying stream open.
+	 */
+	@Override
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+
+		while (!pendingEntries.isEmpty()) {
+			writeNextEntry();
+		}
+		finished = true;
+
+		long centralDirectoryOffset = offset;
+		for (CentralEntry entry : writtenEntries) {
+			writeCentralHeader(entry);
+		}
+		writeEnd(centralDirectoryOffset, offset - centralDirectoryOffset);
+
+		outputStream.flush();
+	}
+
+	/**
+	 * Closes the underlying stream. Unlike
+	 * {@link java.util.zip.ZipOutputStream#close()}, an archive that was not
+	 * {@link #finish() finished} is left without its central directory, so a
+	 * generation that fails halfway never produces a valid but incomplete
+	 * archive.
+	 */
+	@Override
+	public void close() throws IOException {
+		pendingEntries.forEach(entry -> entry.cancel(true));
+		pendingEntries.clear();
+		outputStream.close();
+	}
+
+	private CompressedEntry compress(String name, byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+
+		if (compressionLevel == Deflater.NO_COMPRESSION) {
+			return new CompressedEntry(encodedName, STORED, crc.getValue(), content.length, content);
+		}
+
+		Deflater deflater = new Deflater(compressionLevel, true);
+		try {
+			deflater.setInput(content);
+			deflater.finish();
+
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4 + 64);
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				compressed.write(buffer, 0, deflater.deflate(buffer));
+			}
+
+			return new CompressedEntry(encodedName, DEFLATED, crc.getValue(), content.length,
+					compressed.toByteArray());
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private void writeNextEntry() throws IOException {
+		CompressedEntry entry;
+		try {
+			entry = pendingEntries.peek().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while compressing the ZIP entries.", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Failed to compress a ZIP entry.", e.getCause());
+		}
+		pendingEntries.poll();
+
+		if (offset + LOCAL_HEADER_SIZE + entry.name().length + entry.data().length > MAX_32) {
+			throw new ZipException("ZIP archives larger than 4 GB are not supported.");
+		}
+
+		ByteBuffer header = newBuffer(LOCAL_HEADER_SIZE + entry.name().length);
+		header.putInt(LOCAL_HEADER_SIGNATURE);
+		header.putShort((short) VERSION);
+		header.putShort((short) UTF8_FLAG);
+		header.putShort((short) entry.method());
+		header.putShort((short) DOS_TIME);
+		header.putShort((short) DOS_DATE);
+		header.putInt((int) entry.crc());
+		header.putInt(entry.data().length);
+		header.putInt(entry.size());
+		header.putShort((short) entry.name().length);
+		header.putShort((short) 0);
+		header.put(entry.name());
+
+		writtenEntries.add(new CentralEntry(entry.name(), entry.method(), entry.crc(), entry.size(),
+				entry.data().length, offset));
+		write(header);
+		outputStream.write(entry.data());
+		offset += entry.data().length;
+	}
+
+	private void writeCentralHeader(CentralEntry entry) throws IOException {
+		ByteBuffer header = newBuffer(CENTRAL_HEADER_SIZE + entry.name().length);
+		header.putInt(CENTRAL_HEADER_SIGNATURE);
+		header.putShort((short) VERSION);
+		header.putShort((short) VERSION);
+		header.putShort((short) UTF8_FLAG);
+		header.putShort((short) entry.method());
+		header.putShort((short) DOS_TIME);
+		header.putShort((short) DOS_DATE);
+		header.putInt((int) entry.crc());
+		header.putInt(entry.compressedSize());
+		header.putInt(entry.size());
+		header.putShort((short) entry.name().length);
+		header.putShort((short) 0);
+		header.putShort((short) 0);
+		header.putShort((short) 0);
+		header.putShort((short) 0);
+		header.putInt(0);
+		header.putInt((int) entry.offset());
+		header.put(entry.name());
+
+		write(header);
+	}
+
+	/**
+	 * Writes the end of central directory record, preceded by its ZIP64 variant
+	 * and locator when the entry count or the directory offset does not fit.
+	 */
+	private void writeEnd(long centralDirectoryOffset, long centralDirectorySize) throws IOException {
+		int entryCount = writtenEntries.size();
+		boolean zip64 = entryCount >= MAX_16 || centralDirectoryOffset >= MAX_32
+				|| centralDirectorySize >= MAX_32;
+
+		if (zip64) {
+			long zip64EndOffset = offset;
+
+			ByteBuffer zip64End = newBuffer(ZIP64_END_SIZE + ZIP64_LOCATOR_SIZE);
+			zip64End.putInt(ZIP64_END_SIGNATURE);
+			zip64End.putLong(ZIP64_END_SIZE - 12L);
+			zip64End.putShort((short) ZIP64_VERSION);
+			zip64End.putShort((short) ZIP64_VERSION);
+			zip64End.putInt(0);
+			zip64End.putInt(0);
+			zip64End.putLong(entryCount);
+			zip64End.putLong(entryCount);
+			zip64End.putLong(centralDirectorySize);
+			zip64End.putLong(centralDirectoryOffset);
+
+			zip64End.putInt(ZIP64_LOCATOR_SIGNATURE);
+			zip64End.putInt(0);
+			zip64End.putLong(zip64EndOffset);
+			zip64End.putInt(1);
+
+			write(zip64End);
+		}
+
+		ByteBuffer end = newBuffer(END_SIZE);
+		end.putInt(END_SIGNATURE);
+		end.putShort((short) 0);
+		end.putShort((short) 0);
+		end.putShort((short) Math.min(entryCount, MAX_16));
+		end.putShort((short) Math.min(entryCount, MAX_16));
+		end.putInt((int) Math.min(centralDirectorySize, MAX_32));
+		end.putInt((int) Math.min(centralDirectoryOffset, MAX_32));
+		end.putShort((short) 0);
+
+		write(end);
+	}
+
+	private static ByteBuffer newBuffer(int size) {
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private void write(ByteBuffer buffer) throws IOException {
+		outputStream.write(buffer.array(), 0, buffer.position());
+		offset += buffer.position();
+	}
+
+	private record CompressedEntry(byte[] name, int method, long crc, int size, byte[] data) {
+	}
+
+	private record CentralEntry(byte[] name, int method, long crc, int size, int compressedSize, long offset) {
+	}
+
+}
@@ -0,0 +1,89 @@
+package io.github.madsonpaulo.springcodegenerator.v1.controller;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseCatalogSummaryDto;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.service.CatalogSnapshotService;
+import io.github.madsonpaulo.springcodegenerator.core.service.DatabaseCatalogService;
+import io.github.madsonpaulo.springcodegenerator.core.utils.CatalogSnapshotUtil;
+import io.github.madsonpaulo.springcodegenerator.core.utils.StringUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/catalog")
+@Tag(name = "Database Catalog")
+public class DatabaseCatalogController {
+	private final DatabaseCatalogService databaseCatalogService;
+	private final CatalogSnapshotService catalogSnapshotService;
+
+	@Operation(summary = "Load a database catalog in memory", description = "Loads (or reloads) the whole catalog of the database "
+			+ "in bulk, so that later generation requests are resolved from memory.")
+	@PostMapping("/{databaseName}")
+	public ResponseEntity<DatabaseCatalogSummaryDto> reloadCatalog(
+			@Parameter(description = "Database name.", example = "MOCK_DATABASE") @PathVariable String databaseName) {
+		ensureEnabled();
+
+		return ResponseEntity.status(HttpStatus.OK).body(DatabaseCatalogSummaryDto
+				.of(databaseCatalogService.reload(databaseName.toUpperCase(StringUtil.LOCALE))));
+	}
+
+	@Operation(summary = "Drop a database catalog from memory")
+	@DeleteMapping("/{databaseName}")
+	public ResponseEntity<Void> evictCatalog(
+			@Parameter(description = "Database name.", example = "MOCK_DATABASE") @PathVariable String databaseName) {
+		ensureEnabled();
+
+		databaseCatalogService.evict(databaseName.toUpperCase(StringUtil.LOCALE));
+
+		return ResponseEntity.noContent().build();
+	}
+
+	@Operation(summary = "Export a catalog snapshot", description = "Exports the catalog of the database (or only of the given "
+			+ "tables and views) as a gzip-compressed JSON file that the 'snapshot' profile can serve without a database connection.")
+	@GetMapping(value = "/{databaseName}/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<ByteArrayResource> exportSnapshot(
+			@Parameter(description = "Database name.", example = "MOCK_DATABASE") @PathVariable String databaseName,
+			@Parameter(description = "Comma-separated list of table or view names. Leave empty to export the whole database.", example = "T999TEST, V999VIEW") @RequestParam(defaultValue = "") String tableNames)
+			throws IOException {
+		String database = databaseName.toUpperCase(StringUtil.LOCALE);
+		List<String> objectNames = Arrays.stream(tableNames.split(",")).map(String::strip)
+				.filter(name -> !name.isEmpty()).map(name -> name.toUpperCase(StringUtil.LOCALE)).distinct().toList();
+
+		ByteArrayResource payload = catalogSnapshotService.exportPayload(database, objectNames);
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=%s".formatted(database + CatalogSnapshotUtil.FILE_EXTENSION));
+
+		return ResponseEntity.status(HttpStatus.OK).headers(headers).contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.body(payload);
+	}
+
+	private void ensureEnabled() {
+		if (!databaseCatalogService.isEnabled()) {
+			throw new CodeGenerationException(HttpStatus.BAD_REQUEST, null,
+					"The in-memory catalog is disabled. Set 'catalog.in-memory.enabled=true' to use it.");
+		}
+	}
+
+}
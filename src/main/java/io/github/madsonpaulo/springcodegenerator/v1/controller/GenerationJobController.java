@@ -0,0 +1,101 @@
+package io.github.madsonpaulo.springcodegenerator.v1.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GenerationJobDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GenerationJobRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.service.GenerationJobService;
+import io.github.madsonpaulo.springcodegenerator.core.service.GenerationJobService.JobDownload;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SourcePackagingUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/generator/jobs")
+@Tag(name = "Generation Jobs")
+public class GenerationJobController {
+	private final GenerationJobService generationJobService;
+
+	@Operation(summary = "Submit a generation job", description = "Queues the generation of Java classes from SQL Server "
+			+ "tables or views and returns the job right away, with its status URL in the Location header. "
+			+ "Entity, DTO, service and repository classes are generated unless turned off. "
+			+ "Answers 400 for an invalid request and 429 when too many jobs are already queued.")
+	@PostMapping
+	public ResponseEntity<GenerationJobDto> submitJob(@Valid @RequestBody GenerationJobRequestDto request) {
+		GenerationJobDto job = generationJobService.submit(request.toGenerationRequest());
+
+		return ResponseEntity
+				.accepted().location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}")
+						.buildAndExpand(job.getJobId()).toUri())
+				.body(job);
+	}
+
+	@Operation(summary = "Get the status of a generation job", description = "Reports the status of the job, its current "
+			+ "stage and how many of its tables were generated so far.")
+	@GetMapping("/{jobId}")
+	public ResponseEntity<GenerationJobDto> findJob(
+			@Parameter(description = "Job id returned on submission.") @PathVariable String jobId) {
+		return ResponseEntity.status(HttpStatus.OK).body(generationJobService.findJob(jobId));
+	}
+
+	@Operation(summary = "Download the result of a generation job", description = "Returns the generated class, or an archive "
+			+ "in the requested packaging format when multiple classes were generated. "
+			+ "Answers 409 while the job has not succeeded.")
+	@GetMapping(value = "/{jobId}/download", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<StreamingResponseBody> downloadJob(
+			@Parameter(description = "Job id returned on submission.") @PathVariable String jobId,
+			NativeWebRequest webRequest) throws IOException {
+		JobDownload download = generationJobService.acquirePayload(jobId);
+		GeneratedPayloadDto generated = download.getPayload();
+		SourceGeneratorController.onRequestCompletion(webRequest, download::close);
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=%s".formatted(generated.getFileName()));
+		headers.add(SourceGeneratorController.CHECKSUM_HEADER, generated.getChecksum());
+		try {
+			headers.setContentLength(generated.getPayload().contentLength());
+		} catch (IOException | RuntimeException e) {
+			download.close();
+			throw e;
+		}
+
+		return ResponseEntity.status(HttpStatus.OK).headers(headers).eTag("\"%s\"".formatted(generated.getVersion()))
+				.contentType(MediaType.parseMediaType(generated.getContentType()))
+				.body(outputStream -> {
+					try (download) {
+						SourcePackagingUtil.writePayload(generated.getPayload(), outputStream);
+					}
+				});
+	}
+
+	@Operation(summary = "Cancel or discard a generation job", description = "Cancels the job if it has not finished yet, "
+			+ "otherwise discards its result.")
+	@DeleteMapping("/{jobId}")
+	public ResponseEntity<Void> deleteJob(
+			@Parameter(description = "Job id returned on submission.") @PathVariable String jobId) {
+		generationJobService.delete(jobId);
+
+		return ResponseEntity.noContent().build();
+	}
+
+}
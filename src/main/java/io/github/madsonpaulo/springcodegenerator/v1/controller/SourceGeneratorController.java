@@ -1,20 +1,35 @@
 package io.github.madsonpaulo.springcodegenerator.v1.controller;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
 
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
-import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedJavaSourceDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.StreamedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
+import io.github.madsonpaulo.springcodegenerator.core.service.DatabaseGeneratorService;
+import io.github.madsonpaulo.springcodegenerator.core.service.IncrementalGeneratorService;
+import io.github.madsonpaulo.springcodegenerator.core.service.PayloadSpool;
 import io.github.madsonpaulo.springcodegenerator.core.service.SourceGeneratorService;
 import io.github.madsonpaulo.springcodegenerator.core.utils.SourcePackagingUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,34 +44,202 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Java Source Generator")
 public class SourceGeneratorController {
 	private final SourceGeneratorService sourceGeneratorService;
+	private final IncrementalGeneratorService incrementalGeneratorService;
+	private final DatabaseGeneratorService databaseGeneratorService;
+	private final PayloadSpool payloadSpool;
 
-	@Operation(summary = "Generate Java classes from SQL Server tables or views", description = "Generates Java entities (and optionally DTOs, services and repositories) "
+	public static final String SCHEMA_VERSION_HEADER = "X-Schema-Version";
+	public static final String CHECKSUM_HEADER = "X-Checksum-Sha256";
+
+	@Operation(summary = "Generate Java classes from SQL Server tables or views", description = "Generates Java entities, DTOs, services and repositories "
 			+ "based on the provided SQL Server tables or views. "
-			+ "If multiple classes are generated, the result is returned as a ZIP file.")
+			+ "If multiple classes are generated, the result is returned as a ZIP or tar.gz file, "
+			+ "streamed to the client while the classes of each table are rendered. "
+			+ "The response carries an ETag derived from the table metadata and the options; "
+			+ "send it back in If-None-Match to get 304 Not Modified while nothing changed.")
 	@GetMapping(value = "/sqlserver/classes", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-	public ResponseEntity<ByteArrayResource> generateClassesFromSqlServer(
+	public ResponseEntity<StreamingResponseBody> generateClassesFromSqlServer(
+
+			@Parameter(description = "Comma-separated list of table or view names. "
+					+ "A database prefix may be provided (e.g. DB_NAME.TABLE_NAME).", example = "T999TEST, T999DOMA, T999NULL, V999VIEW") @RequestParam @NotBlank String tableNames,
+
+			@Parameter(description = "Root Java package for generated sources.", example = "io.github.madsonpaulo.springcodegenerator.core") @RequestParam @NotBlank String rootPackage,
+
+			@Parameter(description = "Whether Entity classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateEntity,
+
+			@Parameter(description = "Whether DTO classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateDto,
+
+			@Parameter(description = "Whether Service and Repository classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateServiceRepository,
+
+			@Parameter(description = "Archive format when more than one class is generated: ZIP, ZIP_STORED (uncompressed) or TAR_GZ.", example = "ZIP") @RequestParam(defaultValue = "ZIP") PackagingFormat packagingFormat,
+
+			@Parameter(description = "DEFLATE level from 0 (fastest) to 9 (smallest). Leave empty for the default.", example = "6") @RequestParam(required = false) Integer compressionLevel,
+
+			@Parameter(description = "ETag of a previously downloaded result.") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+
+	) {
+		PreparedGenerationDto prepared = sourceGeneratorService
+				.prepareGeneration(new CodeGenerationRequestDto(tableNames, rootPackage, generateEntity, generateDto,
+						generateServiceRepository, packagingFormat, compressionLevel));
+		String eTag = "\"%s\"".formatted(prepared.getVersion());
+
+		if (matchesETag(ifNoneMatch, eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		}
+
+		if (prepared.getTablesMetadata().size() > 1) {
+			StreamedPayloadDto streamed = sourceGeneratorService.streamPayload(prepared);
+
+			return streamAttachment(streamed.getFileName(), streamed.getContentType(), eTag, streamed.getChecksum(),
+					streamed.getWriter()::writeTo);
+		}
+
+		GeneratedPayloadDto generated = sourceGeneratorService.generatePayload(prepared);
+
+		return streamAttachment(generated.getFileName(), generated.getContentType(), eTag, generated.getChecksum(),
+				outputStream -> SourcePackagingUtil.writePayload(generated.getPayload(), outputStream));
+	}
+
+	@Operation(summary = "Generate Java classes only for the tables changed since a schema version", description = "Returns an archive "
+			+ "with the classes of the tables changed since the given schema version or ISO-8601 date-time, "
+			+ "and a schema-changes.json manifest listing them along with the deleted and renamed objects. "
+			+ "The new schema version is returned in the X-Schema-Version header; without 'since', every table is generated.")
+	@GetMapping(value = "/sqlserver/classes/changes", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<StreamingResponseBody> generateChangedClassesFromSqlServer(
 
 			@Parameter(description = "Comma-separated list of table or view names. "
 					+ "A database prefix may be provided (e.g. DB_NAME.TABLE_NAME).", example = "T999TEST, T999DOMA, T999NULL, V999VIEW") @RequestParam @NotBlank String tableNames,
 
 			@Parameter(description = "Root Java package for generated sources.", example = "io.github.madsonpaulo.springcodegenerator.core") @RequestParam @NotBlank String rootPackage,
 
+			@Parameter(description = "Whether Entity classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateEntity,
+
 			@Parameter(description = "Whether DTO classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateDto,
 
-			@Parameter(description = "Whether Service and Repository classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateServiceRepository
+			@Parameter(description = "Whether Service and Repository classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateServiceRepository,
+
+			@Parameter(description = "Archive format: ZIP, ZIP_STORED (uncompressed) or TAR_GZ.", example = "ZIP") @RequestParam(defaultValue = "ZIP") PackagingFormat packagingFormat,
+
+			@Parameter(description = "DEFLATE level from 0 (fastest) to 9 (smallest). Leave empty for the default.", example = "6") @RequestParam(required = false) Integer compressionLevel,
+
+			@Parameter(description = "Schema version returned by a previous call, or an ISO-8601 date-time.", example = "2024-01-31T18:00:00") @RequestParam(required = false) String since,
+
+			NativeWebRequest webRequest
 
 	) throws IOException {
-		List<GeneratedJavaSourceDto> generatedSources = sourceGeneratorService.generateSources(
-				new CodeGenerationRequestDto(tableNames, rootPackage, generateDto, generateServiceRepository));
+		GeneratedPayloadDto generated = incrementalGeneratorService
+				.generateChanges(new CodeGenerationRequestDto(tableNames, rootPackage, generateEntity, generateDto,
+						generateServiceRepository, packagingFormat, compressionLevel), since);
 
-		String fileName = SourcePackagingUtil.resolveOutputFileName(generatedSources, "generated-sources");
-		ByteArrayResource payload = SourcePackagingUtil.generatePayload(generatedSources);
+		Resource payload = generated.getPayload();
+		onRequestCompletion(webRequest, () -> payloadSpool.release(payload));
 
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=%s".formatted(generated.getFileName()));
+		headers.add(SCHEMA_VERSION_HEADER, generated.getVersion());
+		headers.add(CHECKSUM_HEADER, generated.getChecksum());
+		try {
+			headers.setContentLength(payload.contentLength());
+		} catch (IOException | RuntimeException e) {
+			payloadSpool.release(payload);
+			throw e;
+		}
+
+		return ResponseEntity.status(HttpStatus.OK).headers(headers)
+				.contentType(MediaType.parseMediaType(generated.getContentType())).body(outputStream -> {
+					try {
+						SourcePackagingUtil.writePayload(payload, outputStream);
+					} finally {
+						payloadSpool.release(payload);
+					}
+				});
+	}
+
+	@Operation(summary = "Generate Java classes for the tables and views of a database matching name patterns", description = "Generates "
+			+ "the classes of every table and view of the database whose name matches one of the include patterns "
+			+ "and none of the exclude patterns, in SQL Server LIKE syntax, and returns them as an archive. "
+			+ "The matching objects are resolved with a single catalog query, then generated in chunks "
+			+ "and streamed to the client.")
+	@GetMapping(value = "/sqlserver/databases/{databaseName}/classes", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<StreamingResponseBody> generateDatabaseClassesFromSqlServer(
+
+			@Parameter(description = "Database name.", example = "MOCK_DATABASE") @PathVariable String databaseName,
+
+			@Parameter(description = "Comma-separated LIKE patterns of the objects to generate. Leave empty for every table and view.", example = "T999%") @RequestParam(required = false) String include,
+
+			@Parameter(description = "Comma-separated LIKE patterns of the objects to skip.", example = "%[_]BKP") @RequestParam(required = false) String exclude,
+
+			@Parameter(description = "Root Java package for generated sources.", example = "io.github.madsonpaulo.springcodegenerator.core") @RequestParam @NotBlank String rootPackage,
+
+			@Parameter(description = "Whether Entity classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateEntity,
+
+			@Parameter(description = "Whether DTO classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateDto,
+
+			@Parameter(description = "Whether Service and Repository classes should be generated.", example = "true") @RequestParam(defaultValue = "true") boolean generateServiceRepository,
+
+			@Parameter(description = "Archive format: ZIP, ZIP_STORED (uncompressed) or TAR_GZ.", example = "ZIP") @RequestParam(defaultValue = "ZIP") PackagingFormat packagingFormat,
+
+			@Parameter(description = "DEFLATE level from 0 (fastest) to 9 (smallest). Leave empty for the default.", example = "6") @RequestParam(required = false) Integer compressionLevel
+
+	) {
+		StreamedPayloadDto streamed = databaseGeneratorService
+				.streamDatabase(new DatabaseGenerationRequestDto(databaseName, include, exclude, rootPackage,
+						generateEntity, generateDto, generateServiceRepository, packagingFormat, compressionLevel));
+
+		return streamAttachment(streamed.getFileName(), streamed.getContentType(), null, streamed.getChecksum(),
+				streamed.getWriter()::writeTo);
+	}
+
+	/**
+	 * Sends a payload written straight to the response output stream. Errors
+	 * raised before writing starts are answered as usual; once the archive is
+	 * being written, a failure can only abort the response. The ETag and the
+	 * checksum are sent when known.
+	 */
+	private ResponseEntity<StreamingResponseBody> streamAttachment(String fileName, String contentType, String eTag,
+			String checksum, StreamingResponseBody body) {
 		HttpHeaders headers = new HttpHeaders();
 		headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=%s".formatted(fileName));
+		if (eTag != null) {
+			headers.setETag(eTag);
+		}
+		if (checksum != null) {
+			headers.add(CHECKSUM_HEADER, checksum);
+		}
+
+		return ResponseEntity.status(HttpStatus.OK).headers(headers).contentType(MediaType.parseMediaType(contentType))
+				.body(body);
+	}
+
+	/**
+	 * Runs the cleanup once the request streaming the response completes, times
+	 * out or fails, including when the container never runs the response body,
+	 * so a payload held for the body is released either way. The cleanup may
+	 * also run after the body released it, and must tolerate that.
+	 */
+	static void onRequestCompletion(NativeWebRequest webRequest, Runnable cleanup) {
+		WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(cleanup,
+				new CallableProcessingInterceptor() {
+
+					@Override
+					public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+						cleanup.run();
+					}
+
+				});
+	}
+
+	/**
+	 * Compares an If-None-Match header with the current ETag using the weak
+	 * comparison of RFC 9110, which is the one defined for If-None-Match.
+	 */
+	private boolean matchesETag(String ifNoneMatch, String eTag) {
+		if (!StringUtils.hasText(ifNoneMatch)) {
+			return false;
+		}
 
-		return ResponseEntity.status(HttpStatus.OK).headers(headers).contentType(MediaType.APPLICATION_OCTET_STREAM)
-				.body(payload);
+		return Arrays.stream(ifNoneMatch.split(",")).map(String::trim)
+				.anyMatch(candidate -> "*".equals(candidate) || eTag.equals(candidate.replaceFirst("^W/", "")));
 	}
 
 }
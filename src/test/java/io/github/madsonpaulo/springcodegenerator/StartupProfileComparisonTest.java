@@ -0,0 +1,82 @@
+package io.github.madsonpaulo.springcodegenerator;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepository;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositoryImpl;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositoryJdbc;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Boots the default (JPA) and the lightweight JDBC profiles and checks which
+ * beans each one creates; the {@code benchmark} run also compares their
+ * startup times. No database is needed: neither profile opens a connection at
+ * startup once the Hibernate dialect is configured.
+ */
+@Slf4j
+class StartupProfileComparisonTest {
+	private static final String[] COMMON_PROPERTIES = {
+			"spring.datasource.url=jdbc:sqlserver://localhost:1;databaseName=STARTUP_TEST",
+			"spring.sql.init.mode=never",
+			"spring.jpa.open-in-view=false",
+			"spring.jpa.database-platform=org.hibernate.dialect.SQLServerDialect",
+			"spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false" };
+	private static final int ROUNDS = 3;
+
+	@Test
+	void testJdbcProfileSkipsJpaBootstrap() {
+		try (ConfigurableApplicationContext context = start()) {
+			assertTrue(context.getBeanNamesForType(EntityManagerFactory.class).length > 0);
+			assertInstanceOf(TableMetadataRepositoryImpl.class, context.getBean(TableMetadataRepository.class));
+		}
+
+		try (ConfigurableApplicationContext context = start("jdbc")) {
+			assertTrue(context.getBeanNamesForType(EntityManagerFactory.class).length == 0,
+					"The jdbc profile should not create an EntityManagerFactory");
+			assertInstanceOf(TableMetadataRepositoryJdbc.class, context.getBean(TableMetadataRepository.class));
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testJdbcProfileStartsFaster() {
+		// first boots warm up class loading for both profiles
+		startAndClose();
+		startAndClose("jdbc");
+
+		long jpaMillis = 0;
+		long jdbcMillis = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			jpaMillis += startAndClose();
+			jdbcMillis += startAndClose("jdbc");
+		}
+		jpaMillis /= ROUNDS;
+		jdbcMillis /= ROUNDS;
+
+		log.info("Startup time: default (JPA) profile {} ms, jdbc profile {} ms.", jpaMillis, jdbcMillis);
+
+		assertTrue(jdbcMillis < jpaMillis, "The jdbc profile took %d ms to start, the default one %d ms."
+				.formatted(jdbcMillis, jpaMillis));
+	}
+
+	private long startAndClose(String... profiles) {
+		long start = System.nanoTime();
+		try (ConfigurableApplicationContext context = start(profiles)) {
+			return (System.nanoTime() - start) / 1_000_000;
+		}
+	}
+
+	private ConfigurableApplicationContext start(String... profiles) {
+		return new SpringApplicationBuilder(SpringCodeGeneratorApplication.class).web(WebApplicationType.NONE)
+				.profiles(profiles).properties(COMMON_PROPERTIES).run();
+	}
+
+}
@@ -0,0 +1,89 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositoryMock;
+import io.github.madsonpaulo.springcodegenerator.core.utils.FingerprintUtil;
+
+class ArtifactCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testLeastRecentlyUsedEntriesAreEvictedBySize() {
+		ArtifactCache cache = new ArtifactCache(true, DataSize.ofBytes(30), "", DataSize.ofMegabytes(1));
+
+		cache.put("a", new byte[10]);
+		cache.put("b", new byte[10]);
+		cache.get("a");
+		cache.put("c", new byte[15]);
+
+		assertTrue(cache.get("a").isPresent());
+		assertTrue(cache.get("b").isEmpty());
+		assertTrue(cache.get("c").isPresent());
+		assertEquals(25, cache.getStats().getUsedBytes());
+		assertEquals(1, cache.getStats().getEvictions());
+	}
+
+	@Test
+	void testDiskTierServesEntriesAfterRestart() {
+		byte[] payload = { 1, 2, 3 };
+		diskCache(DataSize.ofMegabytes(1)).put("key", payload);
+
+		ArtifactCache restarted = diskCache(DataSize.ofMegabytes(1));
+
+		assertArrayEquals(payload, restarted.get("key").orElseThrow());
+		assertArrayEquals(payload, restarted.get("key").orElseThrow());
+		assertEquals(1, restarted.getStats().getDiskHits());
+		assertEquals(1, restarted.getStats().getHits());
+	}
+
+	@Test
+	void testDiskTierIsTrimmedToItsMaximumSize() throws Exception {
+		ArtifactCache cache = diskCache(DataSize.ofBytes(25));
+
+		cache.put("a", new byte[10]);
+		cache.put("b", new byte[10]);
+		Files.setLastModifiedTime(tempDir.resolve("a"), FileTime.fromMillis(0));
+		cache.put("c", new byte[10]);
+
+		assertFalse(Files.exists(tempDir.resolve("a")), "The least recently used file should be deleted");
+		assertTrue(Files.exists(tempDir.resolve("b")));
+		assertTrue(Files.exists(tempDir.resolve("c")));
+		assertEquals(1, cache.getStats().getDiskEvictions());
+	}
+
+	@Test
+	void testFingerprintFollowsMetadata() {
+		TableMetadataRepositoryMock repository = new TableMetadataRepositoryMock();
+		TableMetadataDto table = repository.fetchTableInfo("MOCK_DATABASE", List.of("T999TEST")).get(0);
+		String fingerprint = FingerprintUtil.fingerprint(table);
+
+		assertEquals(fingerprint,
+				FingerprintUtil.fingerprint(repository.fetchTableInfo("MOCK_DATABASE", List.of("T999TEST")).get(0)));
+
+		table.getColumns().get(0).setColumnDescription("Changed description");
+		assertNotEquals(fingerprint, FingerprintUtil.fingerprint(table));
+		assertNotEquals(FingerprintUtil.fingerprint("ab", "c"), FingerprintUtil.fingerprint("a", "bc"));
+	}
+
+	private ArtifactCache diskCache(DataSize diskMaxSize) {
+		return new ArtifactCache(true, DataSize.ofMegabytes(1), tempDir.toString(), diskMaxSize);
+	}
+
+}
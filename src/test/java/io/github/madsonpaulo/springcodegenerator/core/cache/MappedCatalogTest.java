@@ -0,0 +1,107 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.DatabaseCatalogDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepository;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositoryMock;
+import io.github.madsonpaulo.springcodegenerator.core.utils.NamePatternUtil;
+
+class MappedCatalogTest {
+	private static final String DATABASE = "MOCK_DATABASE";
+
+	private final TableMetadataRepository repository = new TableMetadataRepositoryMock();
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testMappedCatalogMaterializesSameMetadata() throws IOException {
+		DatabaseCatalogDto catalog = heapCatalog();
+		Path file = tempDir.resolve("catalog.bin");
+
+		MappedCatalog.write(file, catalog);
+		MappedCatalog mappedCatalog = MappedCatalog.open(file);
+
+		assertEquals(DATABASE, mappedCatalog.getDatabaseName());
+		assertEquals(catalog.getTableCount(), mappedCatalog.getTableCount());
+
+		for (Map.Entry<String, TableMetadataDto> entry : catalog.getTablesByName().entrySet()) {
+			assertEquals(entry.getValue(), mappedCatalog.findTable(entry.getKey().toLowerCase()));
+			assertEquals(catalog.getForeignKeysByTable().getOrDefault(entry.getKey(), List.of()),
+					mappedCatalog.findForeignKeys(entry.getKey()));
+		}
+
+		assertNull(mappedCatalog.findTable("T999MISS"));
+		assertFalse(mappedCatalog.tablesView().containsKey("T999MISS"));
+		assertEquals(catalog.getTablesByName(), mappedCatalog.tablesView());
+	}
+
+	@Test
+	void testKeysAreIteratedWithoutMaterializingTables() throws IOException {
+		DatabaseCatalogDto catalog = heapCatalog();
+		Path file = tempDir.resolve("catalog.bin");
+
+		MappedCatalog.write(file, catalog);
+		MappedCatalog mappedCatalog = MappedCatalog.open(file);
+		Map<String, TableMetadataDto> tablesView = mappedCatalog.tablesView();
+
+		assertEquals(new TreeSet<>(catalog.getTablesByName().keySet()), new TreeSet<>(tablesView.keySet()));
+		assertTrue(tablesView.keySet().contains("T999TEST"));
+		tablesView.entrySet().forEach(Map.Entry::getKey);
+		assertEquals(0, mappedCatalog.getMaterializedTableCount());
+
+		tablesView.entrySet().iterator().next().getValue();
+		assertEquals(1, mappedCatalog.getMaterializedTableCount());
+	}
+
+	@Test
+	void testNamesAreMatchedWithoutMaterializingTables() throws IOException {
+		DatabaseCatalogDto catalog = heapCatalog();
+		Path file = tempDir.resolve("catalog.bin");
+
+		MappedCatalog.write(file, catalog);
+		MappedCatalog mappedCatalog = MappedCatalog.open(file);
+		DatabaseCatalogDto mapped = new DatabaseCatalogDto(DATABASE, catalog.getLoadedAt(), mappedCatalog.tablesView(),
+				catalog.getForeignKeysByTable());
+
+		List<String> names = mapped.getTableNames().stream()
+				.filter(NamePatternUtil.matcher(List.of("T999%"), List.of())).sorted().toList();
+
+		assertEquals(List.of("T999DOMA", "T999NULL", "T999TEST"), names);
+		assertEquals(0, mappedCatalog.getMaterializedTableCount());
+	}
+
+	@Test
+	void testOtherFilesAreRejected() throws IOException {
+		Path file = Files.write(tempDir.resolve("other.bin"), new byte[64]);
+
+		assertThrows(IOException.class, () -> MappedCatalog.open(file));
+	}
+
+	private DatabaseCatalogDto heapCatalog() {
+		List<TableMetadataDto> tables = new ArrayList<>(repository.fetchAllTableInfo(DATABASE));
+		tables.addAll(repository.fetchAllViewInfo(DATABASE));
+
+		return new DatabaseCatalogDto(DATABASE, LocalDateTime.now(), DatabaseCatalogDto.indexTables(tables),
+				DatabaseCatalogDto.indexForeignKeys(repository.fetchAllForeignKeys(DATABASE)));
+	}
+
+}
@@ -0,0 +1,113 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+class SingleFlightTest {
+	private static final int CALLERS = 5;
+
+	private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+	@Test
+	void testConcurrentCallersShareOneComputation() throws Exception {
+		AtomicInteger computations = new AtomicInteger();
+		Object value = new Object();
+
+		List<Object> results = runConcurrently(() -> {
+			computations.incrementAndGet();
+			return value;
+		});
+
+		assertEquals(1, computations.get());
+		results.forEach(result -> assertSame(value, result));
+	}
+
+	@Test
+	void testFailureReachesEveryCaller() throws Exception {
+		CodeGenerationException failure = new CodeGenerationException(HttpStatus.NOT_FOUND, "T999MISS",
+				"Table 'T999MISS' was not found in the system catalog views.");
+
+		List<Object> results = runConcurrently(() -> {
+			throw failure;
+		});
+
+		results.forEach(result -> assertSame(failure, result));
+	}
+
+	@Test
+	void testCompletedKeyIsComputedAgain() {
+		AtomicInteger computations = new AtomicInteger();
+
+		singleFlight.execute("key", computations::incrementAndGet);
+		singleFlight.execute("key", computations::incrementAndGet);
+
+		assertEquals(2, computations.get());
+		assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+			throw new IllegalStateException();
+		}));
+	}
+
+	/**
+	 * Starts every caller while the leader is held inside its computation, so
+	 * all of them join the same flight. Returns each caller's value or failure.
+	 */
+	private List<Object> runConcurrently(Supplier<Object> computation) throws Exception {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<Object>> futures = new ArrayList<>();
+			futures.add(executor.submit(() -> call(() -> {
+				leaderStarted.countDown();
+				await(release);
+				return computation.get();
+			})));
+			leaderStarted.await();
+
+			for (int caller = 1; caller < CALLERS; caller++) {
+				futures.add(executor.submit(() -> call(computation)));
+			}
+			TimeUnit.MILLISECONDS.sleep(100);
+			release.countDown();
+
+			List<Object> results = new ArrayList<>();
+			for (Future<Object> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		}
+	}
+
+	private Object call(Supplier<Object> computation) {
+		try {
+			return singleFlight.execute("key", computation);
+		} catch (RuntimeException e) {
+			return e;
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package io.github.madsonpaulo.springcodegenerator.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CacheStatsDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+
+class TableMetadataCacheTest {
+	private static final LocalDateTime MODIFY_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	@Test
+	void testHitsAndMissesAreCounted() {
+		TableMetadataCache cache = new TableMetadataCache(true, 10, Duration.ofHours(1));
+		TableMetadataDto table = new TableMetadataDto();
+
+		assertTrue(cache.get("DB.A", MODIFY_DATE).isEmpty());
+		cache.put("DB.A", table, MODIFY_DATE);
+
+		assertSame(table, cache.get("DB.A", MODIFY_DATE).orElseThrow());
+		CacheStatsDto stats = cache.getStats();
+		assertEquals(1, stats.getHits());
+		assertEquals(1, stats.getMisses());
+		assertEquals(1, stats.getSize());
+	}
+
+	@Test
+	void testExpiredEntriesAreDropped() throws InterruptedException {
+		TableMetadataCache cache = new TableMetadataCache(true, 10, Duration.ofMillis(1));
+
+		cache.put("DB.A", new TableMetadataDto(), MODIFY_DATE);
+		Thread.sleep(10);
+
+		assertTrue(cache.get("DB.A", MODIFY_DATE).isEmpty());
+		assertEquals(1, cache.getStats().getExpirations());
+		assertEquals(0, cache.getStats().getSize());
+	}
+
+	@Test
+	void testLeastRecentlyUsedEntriesAreEvictedByCount() {
+		TableMetadataCache cache = new TableMetadataCache(true, 2, Duration.ofHours(1));
+
+		cache.put("DB.A", new TableMetadataDto(), MODIFY_DATE);
+		cache.put("DB.B", new TableMetadataDto(), MODIFY_DATE);
+		cache.get("DB.A", MODIFY_DATE);
+		cache.put("DB.C", new TableMetadataDto(), MODIFY_DATE);
+
+		assertTrue(cache.get("DB.A", MODIFY_DATE).isPresent());
+		assertTrue(cache.get("DB.B", MODIFY_DATE).isEmpty());
+		assertTrue(cache.get("DB.C", MODIFY_DATE).isPresent());
+		assertEquals(1, cache.getStats().getEvictions());
+		assertEquals(2, cache.getStats().getMaxEntries());
+	}
+
+	@Test
+	void testNewerModifyDateInvalidatesTheEntry() {
+		TableMetadataCache cache = new TableMetadataCache(true, 10, Duration.ofHours(1));
+
+		cache.put("DB.A", new TableMetadataDto(), MODIFY_DATE);
+
+		assertTrue(cache.get("DB.A", MODIFY_DATE.plusSeconds(1)).isEmpty());
+		assertTrue(cache.get("DB.A", MODIFY_DATE).isEmpty(), "An invalidated entry should be removed");
+		assertEquals(1, cache.getStats().getInvalidations());
+		assertEquals(2, cache.getStats().getMisses());
+	}
+
+	@Test
+	void testDisabledCacheStoresNothing() {
+		TableMetadataCache cache = new TableMetadataCache(false, 10, Duration.ofHours(1));
+
+		cache.put("DB.A", new TableMetadataDto(), MODIFY_DATE);
+
+		assertTrue(cache.get("DB.A", MODIFY_DATE).isEmpty());
+		assertEquals(0, cache.getStats().getSize());
+	}
+
+}
@@ -0,0 +1,76 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+class CatalogQueryCacheTest {
+	private static final String TEMPLATE = "SELECT t.name FROM %1$s.sys.tables t WHERE t.name IN (SELECT value FROM STRING_SPLIT(:names, ','))";
+
+	@Test
+	void testStatementIsReusedForSameDatabase() {
+		CatalogQueryCache cache = new CatalogQueryCache(TEMPLATE);
+
+		String first = cache.forDatabase("MOCK_DATABASE");
+		String second = cache.forDatabase("MOCK_DATABASE");
+
+		assertSame(first, second, "The same statement instance should be returned for the same database");
+		assertEquals(
+				"SELECT t.name FROM MOCK_DATABASE.sys.tables t WHERE t.name IN (SELECT value FROM STRING_SPLIT(:names, ','))",
+				first,
+				"Only the database prefix should be formatted into the statement");
+	}
+
+	@Test
+	void testStatementIsIndependentFromDatabase() {
+		CatalogQueryCache cache = new CatalogQueryCache(TEMPLATE);
+
+		assertNotSame(cache.forDatabase("MOCK_DATABASE"), cache.forDatabase("OTHER_DATABASE"));
+	}
+
+	@Test
+	void testLeastRecentlyUsedDatabasesAreEvicted() {
+		CatalogQueryCache cache = new CatalogQueryCache(TEMPLATE);
+
+		String first = cache.forDatabase("DATABASE_0");
+		for (int i = 1; i <= CatalogQueryCache.MAX_DATABASES; i++) {
+			cache.forDatabase("DATABASE_" + i);
+		}
+		String formattedAgain = cache.forDatabase("DATABASE_0");
+
+		assertNotSame(first, formattedAgain, "The statement of the least recently used database should be evicted");
+		assertEquals(first, formattedAgain);
+	}
+
+	@Test
+	void testTableDetailsAggregateWithTheForeignKeySeparator() {
+		String statement = CatalogQueries.TABLE_DETAILS_QUERY.forDatabase("MOCK_DATABASE");
+		String aggregate = Pattern.quote("'%s') WITHIN GROUP".formatted(ForeignKeyDto.SEPARATOR));
+
+		assertEquals(3, statement.split(aggregate, -1).length - 1);
+		assertFalse(statement.contains("{separator}"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "DB; DROP TABLE X", "DB.SYS", "1DB", "[DB]", "DB'--" })
+	void testInvalidDatabaseNameIsRejected(String databaseName) {
+		CatalogQueryCache cache = new CatalogQueryCache(TEMPLATE);
+
+		CodeGenerationException exception = assertThrows(CodeGenerationException.class,
+				() -> cache.forDatabase(databaseName));
+		assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+	}
+
+}
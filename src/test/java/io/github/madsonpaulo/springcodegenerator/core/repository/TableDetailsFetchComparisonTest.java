@@ -0,0 +1,160 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.ForeignKeyDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the two-statement catalog fetch (table info, then foreign keys)
+ * with the combined table details fetch on the synthetic backend, counting
+ * round trips and rows returned through the repository interface.
+ */
+@Slf4j
+class TableDetailsFetchComparisonTest {
+	private static final String DATABASE = "SYNTHETIC_DATABASE";
+	private static final int TABLES = 2000;
+	private static final int BATCH_SIZE = 200;
+
+	private final TableMetadataRepositorySynthetic synthetic = new TableMetadataRepositorySynthetic(TABLES, 0, 20,
+			0.1, 3, 4, 42);
+
+	@Test
+	void testCombinedFetchHalvesRoundTrips() {
+		List<List<String>> batches = IntStream.range(0, TABLES / BATCH_SIZE)
+				.mapToObj(batch -> IntStream.range(batch * BATCH_SIZE, (batch + 1) * BATCH_SIZE)
+						.mapToObj(TableMetadataRepositorySynthetic::tableName).toList())
+				.toList();
+
+		CountingRepository before = new CountingRepository(synthetic);
+		long beforeNanos = System.nanoTime();
+		List<ForeignKeyDto> separateForeignKeys = batches.stream().flatMap(batch -> {
+			before.fetchTableInfo(DATABASE, batch);
+			return before.fetchForeignKeys(DATABASE, batch).stream();
+		}).toList();
+		beforeNanos = System.nanoTime() - beforeNanos;
+
+		CountingRepository after = new CountingRepository(synthetic);
+		long afterNanos = System.nanoTime();
+		List<ForeignKeyDto> combinedForeignKeys = batches.stream()
+				.flatMap(batch -> after.fetchTableDetails(DATABASE, batch).stream())
+				.flatMap(table -> table.getForeignKeys().stream()).toList();
+		afterNanos = System.nanoTime() - afterNanos;
+
+		log.info("Separate fetch: {} round trips, {} rows in {} ms. Combined fetch: {} round trips, {} rows in {} ms.",
+				before.roundTrips, before.rows, beforeNanos / 1_000_000, after.roundTrips, after.rows,
+				afterNanos / 1_000_000);
+
+		assertEquals(separateForeignKeys, combinedForeignKeys);
+		assertEquals(2 * batches.size(), before.roundTrips);
+		assertEquals(batches.size(), after.roundTrips);
+		assertTrue(after.rows < before.rows);
+	}
+
+	@Test
+	void testAggregatedForeignKeysAreSplitPerConstraint() {
+		Object[] row = { "t999doma", null, "CD_DFK", "decimal", null, 'N', 5, 3, 0, null, 'N',
+				"FK_DOMA_FFKY_01#FK_DOMA_SFKY_02", "T999FFKY#T999SFKY", "CD_DFK#CD_DFK" };
+
+		TableMetadataDto table = CatalogRowMapper.toTableDetails(DATABASE, List.<Object[]>of(row)).get(0);
+
+		assertEquals(List.of(new ForeignKeyDto("T999DOMA", "CD_DFK", "FK_DOMA_FFKY_01", "T999FFKY", "CD_DFK"),
+				new ForeignKeyDto("T999DOMA", "CD_DFK", "FK_DOMA_SFKY_02", "T999SFKY", "CD_DFK")),
+				table.getForeignKeys());
+	}
+
+	/**
+	 * Counts each repository call as one round trip. Table details count one row
+	 * per column, since the SQL Server statement folds the foreign keys of a
+	 * column into its row.
+	 */
+	private static final class CountingRepository implements TableMetadataRepository {
+		private final TableMetadataRepository delegate;
+		private int roundTrips;
+		private long rows;
+
+		CountingRepository(TableMetadataRepository delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+			return countColumns(delegate.fetchTableInfo(databaseName, tableNames));
+		}
+
+		@Override
+		public List<TableMetadataDto> fetchTableDetails(String databaseName, Collection<String> tableNames) {
+			return countColumns(delegate.fetchTableDetails(databaseName, tableNames));
+		}
+
+		@Override
+		public List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames) {
+			return countColumns(delegate.fetchViewInfo(databaseName, viewNames));
+		}
+
+		@Override
+		public List<ForeignKeyDto> fetchForeignKeys(String databaseName, Collection<String> tableNames) {
+			List<ForeignKeyDto> foreignKeys = delegate.fetchForeignKeys(databaseName, tableNames);
+			roundTrips++;
+			rows += foreignKeys.size();
+
+			return foreignKeys;
+		}
+
+		@Override
+		public List<TableMetadataDto> fetchAllTableInfo(String databaseName) {
+			return countColumns(delegate.fetchAllTableInfo(databaseName));
+		}
+
+		@Override
+		public List<TableMetadataDto> fetchAllViewInfo(String databaseName) {
+			return countColumns(delegate.fetchAllViewInfo(databaseName));
+		}
+
+		@Override
+		public List<ForeignKeyDto> fetchAllForeignKeys(String databaseName) {
+			List<ForeignKeyDto> foreignKeys = delegate.fetchAllForeignKeys(databaseName);
+			roundTrips++;
+			rows += foreignKeys.size();
+
+			return foreignKeys;
+		}
+
+		@Override
+		public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+			List<CatalogObjectDto> objects = delegate.fetchObjects(databaseName, objectNames);
+			roundTrips++;
+			rows += objects.size();
+
+			return objects;
+		}
+
+		@Override
+		public List<CatalogObjectDto> fetchMatchingObjects(String databaseName, Collection<String> includePatterns,
+				Collection<String> excludePatterns) {
+			List<CatalogObjectDto> objects = delegate.fetchMatchingObjects(databaseName, includePatterns,
+					excludePatterns);
+			roundTrips++;
+			rows += objects.size();
+
+			return objects;
+		}
+
+		private List<TableMetadataDto> countColumns(List<TableMetadataDto> tables) {
+			roundTrips++;
+			rows += tables.stream().mapToInt(table -> table.getColumns().size()).sum();
+
+			return tables;
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogSnapshotDto;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.service.CatalogSnapshotService;
+import io.github.madsonpaulo.springcodegenerator.core.utils.CatalogSnapshotUtil;
+
+class TableMetadataRepositorySnapshotTest {
+	private static final String DATABASE = "MOCK_DATABASE";
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private final TableMetadataRepositoryMock mockRepository = new TableMetadataRepositoryMock();
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testSnapshotServesSameMetadataAsSource() throws IOException {
+		Path file = writeSnapshot(new CatalogSnapshotService(mockRepository, objectMapper).export(DATABASE, List.of()));
+		TableMetadataRepositorySnapshot snapshotRepository = new TableMetadataRepositorySnapshot(objectMapper,
+				List.of(file.toString()));
+
+		List<String> names = List.of("T999TEST", "T999DOMA", "T999NULL", "V999VIEW");
+		assertEquals(mockRepository.fetchTableInfo(DATABASE, names), snapshotRepository.fetchTableInfo(DATABASE, names));
+		assertEquals(mockRepository.fetchViewInfo(DATABASE, names), snapshotRepository.fetchViewInfo(DATABASE, names));
+		assertEquals(mockRepository.fetchForeignKeys(DATABASE, names),
+				snapshotRepository.fetchForeignKeys(DATABASE, names));
+		assertEquals(mockRepository.fetchObjects(DATABASE, names),
+				snapshotRepository.fetchObjects(DATABASE, names));
+		assertEquals(mockRepository.fetchMatchingObjects(DATABASE, List.of("T999%"), List.of("%NULL")),
+				snapshotRepository.fetchMatchingObjects(DATABASE, List.of("T999%"), List.of("%NULL")));
+	}
+
+	@Test
+	void testUnknownFormatVersionIsRejected() throws IOException {
+		CatalogSnapshotDto snapshot = new CatalogSnapshotService(mockRepository, objectMapper).export(DATABASE,
+				List.of("T999TEST"));
+		snapshot.setFormatVersion(CatalogSnapshotDto.CURRENT_FORMAT_VERSION + 1);
+		Path file = writeSnapshot(snapshot);
+
+		assertThrows(CodeGenerationException.class, () -> CatalogSnapshotUtil.read(objectMapper, file));
+	}
+
+	private Path writeSnapshot(CatalogSnapshotDto snapshot) throws IOException {
+		Path file = tempDir.resolve(DATABASE + CatalogSnapshotUtil.FILE_EXTENSION);
+
+		try (OutputStream outputStream = Files.newOutputStream(file)) {
+			CatalogSnapshotUtil.write(objectMapper, snapshot, outputStream);
+		}
+
+		return file;
+	}
+
+}
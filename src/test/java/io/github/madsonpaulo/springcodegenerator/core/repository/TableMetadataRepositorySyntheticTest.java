@@ -0,0 +1,64 @@
+package io.github.madsonpaulo.springcodegenerator.core.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.ColumnMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+
+class TableMetadataRepositorySyntheticTest {
+	private static final String DATABASE = "SYNTHETIC_DATABASE";
+
+	@Test
+	void testSameSeedGeneratesSameCatalog() {
+		TableMetadataRepositorySynthetic repository1 = repository(42);
+		TableMetadataRepositorySynthetic repository2 = repository(42);
+
+		assertEquals(repository1.fetchAllTableInfo(DATABASE), repository2.fetchAllTableInfo(DATABASE));
+		assertEquals(repository1.fetchAllViewInfo(DATABASE), repository2.fetchAllViewInfo(DATABASE));
+		assertEquals(repository1.fetchAllForeignKeys(DATABASE), repository2.fetchAllForeignKeys(DATABASE));
+	}
+
+	@Test
+	void testGenerationDoesNotDependOnBatching() {
+		TableMetadataRepositorySynthetic repository = repository(42);
+		List<TableMetadataDto> allTables = repository.fetchAllTableInfo(DATABASE);
+
+		String tableName = TableMetadataRepositorySynthetic.tableName(123);
+		assertEquals(allTables.get(123), repository.fetchTableInfo(DATABASE, tableName.toLowerCase()).get(0));
+	}
+
+	@Test
+	void testDifferentSeedGeneratesDifferentCatalog() {
+		assertNotEquals(repository(42).fetchAllTableInfo(DATABASE), repository(7).fetchAllTableInfo(DATABASE));
+	}
+
+	@Test
+	void testConfiguredShape() {
+		TableMetadataRepositorySynthetic repository = repository(42);
+		List<TableMetadataDto> tables = repository.fetchAllTableInfo(DATABASE);
+
+		assertEquals(500, tables.size());
+		assertEquals(10, repository.fetchAllViewInfo(DATABASE).size());
+		assertEquals(500 * 3, repository.fetchAllForeignKeys(DATABASE).size());
+		assertTrue(tables.stream().allMatch(table -> table.getColumns().size() == 30));
+		assertTrue(tables.stream().anyMatch(TableMetadataDto::isCompositePk));
+		assertTrue(tables.stream().anyMatch(table -> !table.isCompositePk()));
+
+		Set<String> sqlTypes = tables.stream().flatMap(table -> table.getColumns().stream())
+				.map(ColumnMetadataDto::getColumnSqlType).collect(Collectors.toSet());
+		assertEquals(26, sqlTypes.size());
+	}
+
+	private TableMetadataRepositorySynthetic repository(long seed) {
+		return new TableMetadataRepositorySynthetic(500, 10, 30, 0.2, 3, 5, seed);
+	}
+
+}
@@ -0,0 +1,103 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+class CatalogFetchCoalescerTest {
+	private static final String DATABASE = "COALESCED_DATABASE";
+	private static final int CALLERS = 50;
+
+	private final CatalogFetchExecutor executor = new CatalogFetchExecutor(4);
+	private final AtomicInteger roundTrips = new AtomicInteger();
+	private final Function<List<String>, Map<String, String>> batchFetch = names -> {
+		roundTrips.incrementAndGet();
+		return names.stream().collect(Collectors.toMap(Function.identity(), String::toLowerCase));
+	};
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void testConcurrentLookupsShareRoundTrips() {
+		CatalogFetchCoalescer coalescer = new CatalogFetchCoalescer(executor, Duration.ofMillis(50), 200);
+
+		List<Map<String, String>> results = runConcurrently(coalescer);
+
+		for (int caller = 0; caller < CALLERS; caller++) {
+			assertEquals(Map.of("T" + caller, "t" + caller, "HOT", "hot"), results.get(caller));
+		}
+		assertTrue(roundTrips.get() < CALLERS / 2, "Expected coalesced round trips, got " + roundTrips.get());
+	}
+
+	@Test
+	void testUncontendedLookupDoesNotWaitForTheWindow() {
+		CatalogFetchCoalescer coalescer = new CatalogFetchCoalescer(executor, Duration.ofSeconds(30), 200);
+
+		Map<String, String> results = assertTimeoutPreemptively(Duration.ofSeconds(5),
+				() -> coalescer.fetch(DATABASE, "objects", List.of("T1", "T2"), batchFetch));
+
+		assertEquals(Map.of("T1", "t1", "T2", "t2"), results);
+		assertEquals(1, roundTrips.get());
+	}
+
+	@Test
+	void testPermitsAreDroppedOnceNoFetchUsesThem() {
+		executor.runAll(IntStream.range(0, CALLERS)
+				.mapToObj(caller -> (Runnable) () -> executor.withPermit("DATABASE_" + caller, () -> caller))
+				.toList());
+
+		assertEquals(0, executor.trackedDatabaseCount());
+	}
+
+	@Test
+	void testZeroWindowQueriesEachCaller() {
+		CatalogFetchCoalescer coalescer = new CatalogFetchCoalescer(executor, Duration.ZERO, 200);
+
+		runConcurrently(coalescer);
+
+		assertEquals(CALLERS, roundTrips.get());
+	}
+
+	@Test
+	void testFailureReachesEveryCaller() {
+		CatalogFetchCoalescer coalescer = new CatalogFetchCoalescer(executor, Duration.ofMillis(50), 200);
+		CodeGenerationException failure = new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null,
+				"Catalog unavailable.");
+
+		assertThrows(CodeGenerationException.class, () -> coalescer.fetch(DATABASE, "objects", List.of("T1"),
+				names -> {
+					throw failure;
+				}));
+	}
+
+	private List<Map<String, String>> runConcurrently(CatalogFetchCoalescer coalescer) {
+		Map<Integer, Map<String, String>> results = new ConcurrentHashMap<>();
+
+		executor.runAll(IntStream.range(0, CALLERS)
+				.mapToObj(caller -> (Runnable) () -> results.put(caller,
+						coalescer.fetch(DATABASE, "objects", List.of("T" + caller, "HOT"), batchFetch)))
+				.toList());
+
+		return IntStream.range(0, CALLERS).mapToObj(results::get).toList();
+	}
+
+}
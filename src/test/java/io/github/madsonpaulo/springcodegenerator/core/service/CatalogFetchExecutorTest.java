@@ -0,0 +1,99 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+
+class CatalogFetchExecutorTest {
+	private static final String DATABASE = "LIMITED_DATABASE";
+	private static final int MAX_CONCURRENCY = 2;
+	private static final int TASKS = 6;
+
+	private final CatalogFetchExecutor executor = new CatalogFetchExecutor(MAX_CONCURRENCY);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void testRoundTripsPerDatabaseAreLimited() throws Exception {
+		CountDownLatch started = new CountDownLatch(MAX_CONCURRENCY);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		AtomicInteger completed = new AtomicInteger();
+
+		CompletableFuture<Void> run = CompletableFuture.runAsync(() -> executor.runAll(IntStream.range(0, TASKS)
+				.mapToObj(task -> (Runnable) () -> executor.withPermit(DATABASE, () -> {
+					maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+					started.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					inFlight.decrementAndGet();
+					return completed.incrementAndGet();
+				})).toList()));
+
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		// give the tasks waiting for a permit the chance to break the limit
+		Thread.sleep(100);
+		assertEquals(MAX_CONCURRENCY, inFlight.get());
+
+		release.countDown();
+		run.get(10, TimeUnit.SECONDS);
+
+		assertEquals(MAX_CONCURRENCY, maxInFlight.get());
+		assertEquals(TASKS, completed.get());
+	}
+
+	@Test
+	void testFirstFailureCancelsTheOtherTasksAndIsRethrown() throws InterruptedException {
+		CodeGenerationException failure = new CodeGenerationException(HttpStatus.INTERNAL_SERVER_ERROR, null,
+				"Catalog unavailable.");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(1);
+
+		// the blocked task comes first, so the failure is only seen if it is not
+		// awaited in submission order
+		Runnable blocked = () -> {
+			started.countDown();
+			try {
+				new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				cancelled.countDown();
+			}
+		};
+		Runnable failing = () -> {
+			try {
+				started.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw failure;
+		};
+
+		CodeGenerationException exception = assertThrows(CodeGenerationException.class,
+				() -> executor.runAll(List.of(blocked, failing)));
+
+		assertSame(failure, exception);
+		assertTrue(cancelled.await(1, TimeUnit.SECONDS), "The blocked task should have been interrupted");
+	}
+
+}
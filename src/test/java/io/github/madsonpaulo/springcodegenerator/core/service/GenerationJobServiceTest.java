@@ -0,0 +1,152 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GenerationJobDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.GenerationJobStatus;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.service.GenerationJobService.JobDownload;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SpoolingOutputStream;
+
+class GenerationJobServiceTest {
+	private static final byte[] PAYLOAD = { 1, 2, 3 };
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final PayloadSpool payloadSpool = new PayloadSpool(DataSize.ofBytes(1), "");
+	private final SourceGeneratorService sourceGeneratorService = new SourceGeneratorService(null, null, null, null,
+			null, null, "test") {
+
+		@Override
+		public PreparedGenerationDto prepareGeneration(CodeGenerationRequestDto request) {
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new PreparedGenerationDto(request, List.of(new TableMetadataDto(), new TableMetadataDto()),
+					List.of("a", "b"), "version");
+		}
+
+		@Override
+		public GeneratedPayloadDto spoolPayload(PreparedGenerationDto prepared, Runnable onTableGenerated) {
+			prepared.getTablesMetadata().forEach(table -> onTableGenerated.run());
+			SpoolingOutputStream spool = payloadSpool.open();
+			try {
+				spool.write(PAYLOAD);
+				spool.close();
+				return new GeneratedPayloadDto("generated-sources.zip", "application/zip", spool.toResource(),
+						"version", "checksum");
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	};
+
+	private final GenerationJobService service = new GenerationJobService(sourceGeneratorService, payloadSpool, 1, 1,
+			Duration.ofHours(1), 50);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		service.shutdown();
+		payloadSpool.shutdown();
+	}
+
+	@Test
+	void testSubmittedJobCanBePolledAndDownloaded() throws InterruptedException, IOException {
+		GenerationJobDto job = service.submit(request());
+		assertThrows(CodeGenerationException.class, () -> service.acquirePayload(job.getJobId()));
+
+		release.countDown();
+		GenerationJobDto finished = awaitFinished(job.getJobId());
+
+		assertEquals(GenerationJobStatus.SUCCEEDED, finished.getStatus());
+		assertEquals(2, finished.getTableCount());
+		assertEquals(2, finished.getGeneratedTableCount());
+		assertEquals(PAYLOAD.length, finished.getPayloadSize());
+		try (JobDownload download = service.acquirePayload(job.getJobId())) {
+			assertArrayEquals(PAYLOAD, download.getPayload().getPayload().getContentAsByteArray());
+		}
+	}
+
+	@Test
+	void testDeletedJobKeepsItsPayloadUntilItsDownloadIsClosed() throws InterruptedException, IOException {
+		GenerationJobDto job = service.submit(request());
+		release.countDown();
+		awaitFinished(job.getJobId());
+
+		JobDownload download = service.acquirePayload(job.getJobId());
+		File file = download.getPayload().getPayload().getFile();
+		service.delete(job.getJobId());
+
+		assertTrue(file.exists(), "The payload should outlive its job while it is being downloaded");
+		assertArrayEquals(PAYLOAD, download.getPayload().getPayload().getContentAsByteArray());
+
+		download.close();
+		assertFalse(file.exists());
+	}
+
+	@Test
+	void testSubmissionsBeyondTheQueueAreRefused() {
+		service.submit(request());
+		service.submit(request());
+
+		CodeGenerationException exception = assertThrows(CodeGenerationException.class,
+				() -> service.submit(request()));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+	}
+
+	@Test
+	void testRequestWithoutTableNamesIsRefused() {
+		CodeGenerationException exception = assertThrows(CodeGenerationException.class,
+				() -> service.submit(new CodeGenerationRequestDto(" ", "com.example", true, true, true, null, null)));
+		assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+	}
+
+	@Test
+	void testDeletedJobIsNoLongerFound() {
+		GenerationJobDto job = service.submit(request());
+		service.delete(job.getJobId());
+
+		CodeGenerationException exception = assertThrows(CodeGenerationException.class,
+				() -> service.findJob(job.getJobId()));
+		assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+	}
+
+	private GenerationJobDto awaitFinished(String jobId) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		GenerationJobDto job = service.findJob(jobId);
+		while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+			job = service.findJob(jobId);
+		}
+		return job;
+	}
+
+	private static CodeGenerationRequestDto request() {
+		return new CodeGenerationRequestDto("T999TEST", "com.example", true, true, true, null, null);
+	}
+
+}
@@ -0,0 +1,227 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.cache.ArtifactCache;
+import io.github.madsonpaulo.springcodegenerator.core.cache.TableMetadataCache;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.RenamedObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.SchemaChangesDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositoryMock;
+
+/**
+ * Runs incremental generations against the mock catalog, changing its
+ * {@code sys.objects} entries and table descriptions between calls, and checks
+ * the manifest of each archive.
+ */
+class IncrementalGeneratorServiceTest {
+	private static final String DATABASE = "MOCK_DATABASE";
+	private static final String TEST = DATABASE + ".T999TEST";
+	private static final String DOMA = DATABASE + ".T999DOMA";
+	private static final String NULL = DATABASE + ".T999NULL";
+	private static final String ALL_TABLES = "T999TEST, T999DOMA, T999NULL";
+	private static final LocalDateTime MODIFY_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	private final Map<String, CatalogObjectDto> catalogObjects = new HashMap<>();
+	private final Map<String, String> renamedFrom = new HashMap<>();
+	private final Map<String, String> descriptions = new HashMap<>();
+
+	private final TableMetadataRepositoryMock repository = new TableMetadataRepositoryMock() {
+
+		@Override
+		public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+			return objectNames.stream().filter(catalogObjects::containsKey).distinct().map(name -> {
+				CatalogObjectDto object = catalogObjects.get(name);
+				return new CatalogObjectDto(name, object.getObjectType(), object.getModifyDate(),
+						object.getObjectId());
+			}).toList();
+		}
+
+		@Override
+		public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+			List<TableMetadataDto> tables = new ArrayList<>();
+			for (String tableName : tableNames) {
+				super.fetchTableInfo(databaseName, List.of(renamedFrom.getOrDefault(tableName, tableName)))
+						.forEach(table -> {
+							table.setTableName(tableName);
+							table.setTableDescription(descriptions.getOrDefault(tableName, table.getTableDescription()));
+							tables.add(table);
+						});
+			}
+			return tables;
+		}
+
+	};
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final CatalogFetchExecutor catalogFetchExecutor = new CatalogFetchExecutor(4);
+	private final PackagingExecutor packagingExecutor = new PackagingExecutor(1);
+	private final ArtifactCache artifactCache = new ArtifactCache(true, DataSize.ofMegabytes(16), "",
+			DataSize.ofMegabytes(1));
+	private final PayloadSpool payloadSpool = new PayloadSpool(DataSize.ofMegabytes(16), "");
+	private final TableMetadataService tableMetadataService = new TableMetadataService(repository,
+			new DatabaseCatalogService(repository, catalogFetchExecutor),
+			new TableMetadataCache(false, 10, Duration.ofHours(1)), catalogFetchExecutor,
+			new CatalogFetchCoalescer(catalogFetchExecutor, Duration.ZERO, 200), DATABASE, 200);
+	private final SourceGeneratorService sourceGeneratorService = new SourceGeneratorService(tableMetadataService,
+			new SourceRendererService(), artifactCache, objectMapper, packagingExecutor, payloadSpool, "test");
+	private final IncrementalGeneratorService service = new IncrementalGeneratorService(tableMetadataService,
+			sourceGeneratorService, artifactCache, objectMapper, packagingExecutor, payloadSpool);
+
+	IncrementalGeneratorServiceTest() {
+		putObject("T999TEST", 1, MODIFY_DATE);
+		putObject("T999DOMA", 2, MODIFY_DATE);
+		putObject("T999NULL", 3, MODIFY_DATE);
+	}
+
+	@AfterEach
+	void shutdown() {
+		catalogFetchExecutor.shutdown();
+		packagingExecutor.shutdown();
+		payloadSpool.shutdown();
+	}
+
+	@Test
+	void testFirstCallGeneratesEveryTable() throws IOException {
+		SchemaChangesDto changes = generateChanges(ALL_TABLES, null);
+
+		assertTrue(changes.isFullRegeneration());
+		assertEquals(List.of(DOMA, NULL, TEST), changes.getChanged());
+		assertTrue(changes.getDeleted().isEmpty());
+	}
+
+	@Test
+	void testUnchangedSchemaGeneratesNothing() throws IOException {
+		String version = generateChanges(ALL_TABLES, null).getSchemaVersion();
+
+		SchemaChangesDto changes = generateChanges(ALL_TABLES, version);
+
+		assertFalse(changes.isFullRegeneration());
+		assertTrue(changes.getChanged().isEmpty());
+		assertEquals(version, changes.getSchemaVersion());
+	}
+
+	@Test
+	void testOnlyTablesWithNewArtifactsAreGenerated() throws IOException {
+		String version = generateChanges(ALL_TABLES, null).getSchemaVersion();
+
+		// both were modified, but only the description of T999TEST shapes its classes
+		putObject("T999TEST", 1, MODIFY_DATE.plusDays(1));
+		putObject("T999DOMA", 2, MODIFY_DATE.plusDays(1));
+		descriptions.put("T999TEST", "Changed description");
+		SchemaChangesDto changes = generateChanges(ALL_TABLES, version);
+
+		assertEquals(List.of(TEST), changes.getChanged());
+	}
+
+	@Test
+	void testDescriptionChangeWithoutModifyDateIsGenerated() throws IOException {
+		String version = generateChanges(ALL_TABLES, null).getSchemaVersion();
+
+		// extended properties do not move the modify_date of the table
+		descriptions.put("T999TEST", "Changed description");
+		SchemaChangesDto changes = generateChanges(ALL_TABLES, version);
+
+		assertEquals(List.of(TEST), changes.getChanged());
+		assertTrue(changes.getDeleted().isEmpty());
+	}
+
+	@Test
+	void testChangedOptionsRegenerateEveryTable() throws IOException {
+		String version = generateChanges(ALL_TABLES, null).getSchemaVersion();
+
+		SchemaChangesDto changes = generateChanges(new CodeGenerationRequestDto(ALL_TABLES, "com.other", true, true,
+				true, null, null), version);
+
+		assertFalse(changes.isFullRegeneration());
+		assertEquals(List.of(DOMA, NULL, TEST), changes.getChanged());
+	}
+
+	@Test
+	void testTimestampSelectsTablesModifiedAfterIt() throws IOException {
+		putObject("T999TEST", 1, MODIFY_DATE.plusMonths(6));
+
+		SchemaChangesDto changes = generateChanges(ALL_TABLES, MODIFY_DATE.plusMonths(1).toString());
+
+		assertFalse(changes.isFullRegeneration());
+		assertEquals(List.of(TEST), changes.getChanged());
+	}
+
+	@Test
+	void testDeletedAndRenamedTablesAreReported() throws IOException {
+		String version = generateChanges(ALL_TABLES, null).getSchemaVersion();
+
+		catalogObjects.remove("T999DOMA");
+		catalogObjects.remove("T999NULL");
+		putObject("T999NEWN", 3, MODIFY_DATE.plusDays(1));
+		renamedFrom.put("T999NEWN", "T999NULL");
+		SchemaChangesDto changes = generateChanges("T999TEST, T999NEWN", version);
+
+		assertEquals(List.of(DATABASE + ".T999NEWN"), changes.getChanged());
+		assertEquals(List.of(DOMA), changes.getDeleted());
+		assertEquals(List.of(new RenamedObjectDto(NULL, DATABASE + ".T999NEWN")), changes.getRenamed());
+	}
+
+	@Test
+	void testUnknownVersionFallsBackToFullRegeneration() throws IOException {
+		SchemaChangesDto changes = generateChanges(ALL_TABLES, "0".repeat(64));
+
+		assertTrue(changes.isFullRegeneration());
+		assertEquals(List.of(DOMA, NULL, TEST), changes.getChanged());
+	}
+
+	private void putObject(String name, int objectId, LocalDateTime modifyDate) {
+		catalogObjects.put(name, new CatalogObjectDto(name, CatalogObjectType.TABLE, modifyDate, objectId));
+	}
+
+	private SchemaChangesDto generateChanges(String tableNames, String since) throws IOException {
+		return generateChanges(new CodeGenerationRequestDto(tableNames, "com.example", true, true, true, null, null),
+				since);
+	}
+
+	/**
+	 * Generates the changes and reads the manifest back from the archive.
+	 */
+	private SchemaChangesDto generateChanges(CodeGenerationRequestDto request, String since) throws IOException {
+		GeneratedPayloadDto generated = service.generateChanges(request, since);
+
+		try (ZipInputStream zipInputStream = new ZipInputStream(generated.getPayload().getInputStream())) {
+			for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+				if (entry.getName().equals(IncrementalGeneratorService.MANIFEST_FILE_NAME)) {
+					SchemaChangesDto changes = objectMapper.readValue(zipInputStream.readAllBytes(),
+							SchemaChangesDto.class);
+					assertEquals(generated.getVersion(), changes.getSchemaVersion());
+					return changes;
+				}
+			}
+		} finally {
+			payloadSpool.release(generated.getPayload());
+		}
+
+		throw new AssertionError("The archive has no " + IncrementalGeneratorService.MANIFEST_FILE_NAME);
+	}
+
+}
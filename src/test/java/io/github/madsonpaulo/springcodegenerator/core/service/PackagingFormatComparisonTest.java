@@ -0,0 +1,177 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.cache.ArtifactCache;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedJavaSourceDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.PackagingFormat;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositorySynthetic;
+import io.github.madsonpaulo.springcodegenerator.core.utils.SourcePackagingUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Packages the sources generated for a synthetic schema in every format and
+ * compares the archive sizes; the {@code benchmark} run also reports the CPU
+ * time spent, on all packaging threads, against the archive size.
+ */
+@Slf4j
+class PackagingFormatComparisonTest {
+	private static final String DATABASE = "SYNTHETIC_DATABASE";
+	private static final int TABLES = 300;
+	private static final int ROUNDS = 5;
+
+	private final PackagingExecutor packagingExecutor = new PackagingExecutor(0);
+
+	@AfterEach
+	void shutdown() {
+		packagingExecutor.shutdown();
+	}
+
+	@Test
+	void testCompressionTradesCpuForBytes() throws IOException {
+		List<GeneratedJavaSourceDto> sources = syntheticSources();
+		long sourceBytes = sources.stream()
+				.mapToLong(source -> source.getJavaSourceCode().getBytes(StandardCharsets.UTF_8).length).sum();
+
+		byte[] stored = archive(sources, PackagingFormat.ZIP_STORED, null);
+		byte[] fastZip = archive(sources, PackagingFormat.ZIP, 1);
+		byte[] defaultZip = archive(sources, PackagingFormat.ZIP, null);
+		byte[] bestZip = archive(sources, PackagingFormat.ZIP, 9);
+		byte[] defaultTarGz = archive(sources, PackagingFormat.TAR_GZ, null);
+
+		assertTrue(stored.length > sourceBytes);
+		assertTrue(fastZip.length < stored.length);
+		assertTrue(bestZip.length <= fastZip.length);
+		assertTrue(defaultTarGz.length < defaultZip.length);
+
+		assertEquals(sources.size(), countZipEntries(stored));
+		assertEquals(sources.size(), countZipEntries(bestZip));
+		assertEquals(sources.size(), countTarEntries(defaultTarGz));
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testCpuTimeOfEachFormat() throws IOException {
+		List<GeneratedJavaSourceDto> sources = syntheticSources();
+		long sourceBytes = sources.stream()
+				.mapToLong(source -> source.getJavaSourceCode().getBytes(StandardCharsets.UTF_8).length).sum();
+
+		log.info("Packaging {} sources of {} tables, {} KB uncompressed.", sources.size(), TABLES, sourceBytes / 1024);
+
+		// the first pass warms up the JIT and the packaging threads
+		measure(sources, PackagingFormat.ZIP, null);
+		measure(sources, PackagingFormat.TAR_GZ, null);
+
+		measure(sources, PackagingFormat.ZIP_STORED, null);
+		long fastZipCpu = measure(sources, PackagingFormat.ZIP, 1);
+		measure(sources, PackagingFormat.ZIP, null);
+		long bestZipCpu = measure(sources, PackagingFormat.ZIP, 9);
+		measure(sources, PackagingFormat.TAR_GZ, 1);
+		measure(sources, PackagingFormat.TAR_GZ, null);
+		measure(sources, PackagingFormat.TAR_GZ, 9);
+
+		assertTrue(fastZipCpu < bestZipCpu, "Level 1 took %d ms of CPU, level 9 %d ms."
+				.formatted(fastZipCpu / 1_000_000, bestZipCpu / 1_000_000));
+	}
+
+	private byte[] archive(List<GeneratedJavaSourceDto> sources, PackagingFormat format, Integer level)
+			throws IOException {
+		return SourcePackagingUtil.generatePayload(sources, format, level, packagingExecutor).getByteArray();
+	}
+
+	/**
+	 * Packages the sources {@value #ROUNDS} times, logs the averages and returns
+	 * the CPU time of one round.
+	 */
+	private long measure(List<GeneratedJavaSourceDto> sources, PackagingFormat format, Integer level)
+			throws IOException {
+		long cpuStart = processCpuNanos();
+		long wallStart = System.nanoTime();
+
+		byte[] archive = null;
+		for (int i = 0; i < ROUNDS; i++) {
+			archive = archive(sources, format, level);
+		}
+
+		long wallNanos = (System.nanoTime() - wallStart) / ROUNDS;
+		long cpuNanos = (processCpuNanos() - cpuStart) / ROUNDS;
+
+		log.info("{} level {}: {} KB, {} ms CPU, {} ms wall.", format, level == null ? "default" : level,
+				archive.length / 1024, cpuNanos / 1_000_000, wallNanos / 1_000_000);
+
+		return cpuNanos;
+	}
+
+	private List<GeneratedJavaSourceDto> syntheticSources() {
+		List<TableMetadataDto> tables = new TableMetadataRepositorySynthetic(TABLES, 0, 20, 0.1, 3, 4, 42)
+				.fetchAllTableInfo(DATABASE);
+		SourceGeneratorService sourceGeneratorService = new SourceGeneratorService(null, new SourceRendererService(),
+				new ArtifactCache(false, DataSize.ofMegabytes(1), "", DataSize.ofMegabytes(1)), new ObjectMapper(),
+				packagingExecutor, null, "test");
+
+		CodeGenerationRequestDto request = new CodeGenerationRequestDto(null, "com.example", true, true, true, null,
+				null);
+		List<String> artifactKeys = tables.stream().map(TableMetadataDto::getQualifiedName).toList();
+
+		return sourceGeneratorService
+				.generateSources(new PreparedGenerationDto(request, tables, artifactKeys, "synthetic"));
+	}
+
+	private static long processCpuNanos() {
+		return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+				.getProcessCpuTime();
+	}
+
+	private static int countZipEntries(byte[] archive) throws IOException {
+		int entries = 0;
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+			while (zipInputStream.getNextEntry() != null) {
+				zipInputStream.readAllBytes();
+				entries++;
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Walks the ustar headers of a tar.gz archive, skipping the content blocks,
+	 * until the empty blocks that end it.
+	 */
+	private static int countTarEntries(byte[] archive) throws IOException {
+		byte[] tar;
+		try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(archive))) {
+			tar = gzipInputStream.readAllBytes();
+		}
+
+		int entries = 0;
+		int offset = 0;
+		while (tar[offset] != 0) {
+			if (tar[offset + 156] == '0') {
+				entries++;
+			}
+			long size = Long.parseLong(new String(tar, offset + 124, 11, StandardCharsets.US_ASCII), 8);
+			offset += 512 + (int) ((size + 511) / 512 * 512);
+		}
+		return entries;
+	}
+
+}
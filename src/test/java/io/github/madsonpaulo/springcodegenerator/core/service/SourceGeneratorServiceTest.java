@@ -0,0 +1,62 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.madsonpaulo.springcodegenerator.core.cache.ArtifactCache;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CodeGenerationRequestDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.GeneratedPayloadDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositorySynthetic;
+
+class SourceGeneratorServiceTest {
+	private static final int TABLES = 3;
+
+	private final PackagingExecutor packagingExecutor = new PackagingExecutor(1);
+	private final ArtifactCache artifactCache = new ArtifactCache(true, DataSize.ofMegabytes(1), "",
+			DataSize.ofMegabytes(1));
+	private final SourceGeneratorService service = new SourceGeneratorService(null, new SourceRendererService(),
+			artifactCache, new ObjectMapper(), packagingExecutor, null, "test");
+
+	@AfterEach
+	void shutdown() {
+		packagingExecutor.shutdown();
+	}
+
+	@Test
+	void testCachedPayloadIsServedWithoutTheSources() throws IOException {
+		PreparedGenerationDto prepared = prepared();
+		GeneratedPayloadDto generated = service.generatePayload(prepared);
+		long hitsBefore = artifactCache.getStats().getHits();
+
+		GeneratedPayloadDto cached = service.generatePayload(prepared);
+
+		assertEquals(2, artifactCache.getStats().getHits() - hitsBefore,
+				"Only the payload and its file name should be read from the cache");
+		assertEquals(generated.getFileName(), cached.getFileName());
+		assertEquals(generated.getContentType(), cached.getContentType());
+		assertEquals(generated.getChecksum(), cached.getChecksum());
+		assertArrayEquals(generated.getPayload().getContentAsByteArray(), cached.getPayload().getContentAsByteArray());
+	}
+
+	private PreparedGenerationDto prepared() {
+		List<TableMetadataDto> tables = new TableMetadataRepositorySynthetic(TABLES, 0, 5, 0.1, 1, 2, 42)
+				.fetchAllTableInfo("SYNTHETIC_DATABASE");
+		CodeGenerationRequestDto request = new CodeGenerationRequestDto(null, "com.example", true, true, true, null,
+				null);
+
+		return new PreparedGenerationDto(request, tables,
+				tables.stream().map(TableMetadataDto::getQualifiedName).toList(), "version");
+	}
+
+}
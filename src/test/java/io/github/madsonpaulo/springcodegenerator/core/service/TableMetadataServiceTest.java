@@ -0,0 +1,176 @@
+package io.github.madsonpaulo.springcodegenerator.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import io.github.madsonpaulo.springcodegenerator.core.cache.TableMetadataCache;
+import io.github.madsonpaulo.springcodegenerator.core.dto.CatalogObjectDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.MetadataFetchPlanDto;
+import io.github.madsonpaulo.springcodegenerator.core.dto.TableMetadataDto;
+import io.github.madsonpaulo.springcodegenerator.core.enums.CatalogObjectType;
+import io.github.madsonpaulo.springcodegenerator.core.exception.CodeGenerationException;
+import io.github.madsonpaulo.springcodegenerator.core.repository.TableMetadataRepositoryMock;
+
+class TableMetadataServiceTest {
+	private static final String TABLE = "MOCK_DATABASE.T999TEST";
+	private static final String VENDOR = "VENDOR";
+
+	private final AtomicInteger detailFetches = new AtomicInteger();
+	private LocalDateTime modifyDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	private final TableMetadataRepositoryMock repository = new TableMetadataRepositoryMock() {
+
+		@Override
+		public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+			List<CatalogObjectDto> objects = super.fetchObjects(databaseName, objectNames);
+			objects.forEach(object -> object.setModifyDate(modifyDate));
+			return objects;
+		}
+
+		@Override
+		public List<TableMetadataDto> fetchTableDetails(String databaseName, Collection<String> tableNames) {
+			detailFetches.incrementAndGet();
+			return super.fetchTableDetails(databaseName, tableNames);
+		}
+
+	};
+
+	private final CatalogFetchExecutor executor = new CatalogFetchExecutor(4);
+	private final TableMetadataCache cache = new TableMetadataCache(true, 10, Duration.ofHours(1));
+	private final TableMetadataService service = new TableMetadataService(repository,
+			new DatabaseCatalogService(repository, executor), cache, executor,
+			new CatalogFetchCoalescer(executor, Duration.ZERO, 200), "MOCK_DATABASE", 200);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void testUnchangedTableIsServedFromTheCache() {
+		TableMetadataDto first = service.findTableMetadata(TABLE);
+		TableMetadataDto second = service.findTableMetadata(TABLE);
+
+		assertEquals(first, second);
+		assertEquals(1, detailFetches.get());
+		assertEquals(1, cache.getStats().getHits());
+	}
+
+	@Test
+	void testNewerModifyDateFetchesTheTableAgain() {
+		service.findTableMetadata(TABLE);
+
+		modifyDate = modifyDate.plusDays(1);
+		service.findTableMetadata(TABLE);
+		service.findTableMetadata(TABLE);
+
+		assertEquals(2, detailFetches.get());
+		assertEquals(1, cache.getStats().getInvalidations());
+		assertEquals(1, cache.getStats().getHits());
+	}
+
+	@Test
+	void testConcurrentBatchesAreAssembledInInputOrder() {
+		CountDownLatch lastBatchFetched = new CountDownLatch(1);
+		TableMetadataRepositoryMock reversingRepository = new TableMetadataRepositoryMock() {
+
+			@Override
+			public List<TableMetadataDto> fetchTableDetails(String databaseName, Collection<String> tableNames) {
+				// the first batch completes only after the last one
+				if (tableNames.contains("T999TEST")) {
+					try {
+						lastBatchFetched.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				List<TableMetadataDto> tables = super.fetchTableDetails(databaseName, tableNames);
+				if (tableNames.contains("T999NULL")) {
+					lastBatchFetched.countDown();
+				}
+				return tables;
+			}
+
+		};
+		TableMetadataService batchingService = new TableMetadataService(reversingRepository,
+				new DatabaseCatalogService(reversingRepository, executor),
+				new TableMetadataCache(false, 10, Duration.ofHours(1)), executor,
+				new CatalogFetchCoalescer(executor, Duration.ZERO, 1), "MOCK_DATABASE", 1);
+
+		List<TableMetadataDto> tables = batchingService
+				.findTableMetadata(List.of("T999TEST", "OTHER_DATABASE.T999DOMA", "T999DOMA", "T999NULL"));
+
+		assertEquals(List.of("MOCK_DATABASE.T999TEST", "OTHER_DATABASE.T999DOMA", "MOCK_DATABASE.T999DOMA",
+				"MOCK_DATABASE.T999NULL"), tables.stream().map(TableMetadataDto::getQualifiedName).toList());
+	}
+
+	@Test
+	void testObjectTypesComeFromSysObjectsRatherThanTheNamePrefix() {
+		List<String> columnFetches = new CopyOnWriteArrayList<>();
+		TableMetadataService routingService = serviceFor(new TableMetadataRepositoryMock() {
+
+			@Override
+			public List<CatalogObjectDto> fetchObjects(String databaseName, Collection<String> objectNames) {
+				List<CatalogObjectDto> objects = new ArrayList<>(super.fetchObjects(databaseName, objectNames));
+				if (objectNames.contains(VENDOR)) {
+					objects.add(new CatalogObjectDto(VENDOR, CatalogObjectType.TABLE, modifyDate, 1));
+				}
+				return objects;
+			}
+
+			@Override
+			public List<TableMetadataDto> fetchTableInfo(String databaseName, Collection<String> tableNames) {
+				columnFetches.add("table " + tableNames);
+				// a base table named like a view, with the columns of T999TEST
+				List<TableMetadataDto> tables = super.fetchTableInfo(databaseName,
+						tableNames.stream().map(name -> VENDOR.equals(name) ? "T999TEST" : name).toList());
+				tables.stream().filter(table -> table.getTableName().equals("T999TEST"))
+						.forEach(table -> table.setTableName(VENDOR));
+				return tables;
+			}
+
+			@Override
+			public List<TableMetadataDto> fetchViewInfo(String databaseName, Collection<String> viewNames) {
+				columnFetches.add("view " + viewNames);
+				return super.fetchViewInfo(databaseName, viewNames);
+			}
+
+		});
+
+		List<TableMetadataDto> tables = routingService.findTableMetadata(List.of(VENDOR, "V999VIEW"),
+				new MetadataFetchPlanDto(false));
+
+		assertEquals(CatalogObjectType.TABLE, tables.get(0).getObjectType());
+		assertEquals(CatalogObjectType.VIEW, tables.get(1).getObjectType());
+		assertEquals(List.of("table [VENDOR]", "view [V999VIEW]"), columnFetches);
+
+		columnFetches.clear();
+		CodeGenerationException exception = assertThrows(CodeGenerationException.class,
+				() -> routingService.findTableMetadata(List.of(VENDOR, "UNKNOWN"), new MetadataFetchPlanDto(false)));
+
+		assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+		assertTrue(columnFetches.isEmpty(), "No column query should run for a name missing from sys.objects");
+	}
+
+	private TableMetadataService serviceFor(TableMetadataRepositoryMock repository) {
+		return new TableMetadataService(repository, new DatabaseCatalogService(repository, executor),
+				new TableMetadataCache(false, 10, Duration.ofHours(1)), executor,
+				new CatalogFetchCoalescer(executor, Duration.ZERO, 200), "MOCK_DATABASE", 200);
+	}
+
+}
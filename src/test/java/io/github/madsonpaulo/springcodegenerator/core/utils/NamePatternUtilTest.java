@@ -0,0 +1,33 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class NamePatternUtilTest {
+
+	@ParameterizedTest
+	@CsvSource({ "T4%, T4CLIENT, true", "T4%, T5CLIENT, false", "t4%, T4CLIENT, true", "T_CLIENT, T4CLIENT, true",
+			"T_CLIENT, T44CLIENT, false", "T[0-4]%, T3X, true", "T[^0-4]%, T3X, false", "T4.X, T4AX, false",
+			"%[[]X, A[X, true" })
+	void testLikePatterns(String pattern, String name, boolean matches) {
+		assertEquals(matches, NamePatternUtil.matcher(List.of(pattern), List.of()).test(name));
+	}
+
+	@Test
+	void testExcludePatternsWin() {
+		assertEquals(List.of("T4CLIENT"), List.of("T4CLIENT", "T4CLIENT_BKP", "T5CLIENT").stream()
+				.filter(NamePatternUtil.matcher(List.of("T4%"), List.of("%[_]BKP"))).toList());
+	}
+
+	@Test
+	void testUnterminatedSetIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> NamePatternUtil.matcher(List.of("T[0-4"), List.of()));
+	}
+
+}
@@ -0,0 +1,71 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+class SpoolingOutputStreamTest {
+	private static final int THRESHOLD = 1024;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testPayloadUnderTheThresholdStaysInMemory() throws IOException {
+		byte[] content = content(THRESHOLD);
+
+		SpoolingOutputStream spool = write(content);
+
+		assertFalse(spool.isSpilled());
+		assertInstanceOf(ByteArrayResource.class, spool.toResource());
+		assertArrayEquals(content, spool.toResource().getContentAsByteArray());
+	}
+
+	@Test
+	void testPayloadBeyondTheThresholdSpillsToDisk() throws IOException {
+		byte[] content = content(100 * THRESHOLD);
+
+		SpoolingOutputStream spool = write(content);
+		Resource payload = spool.toResource();
+
+		assertTrue(spool.isSpilled());
+		assertTrue(payload.isFile());
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		SourcePackagingUtil.writePayload(payload, outputStream);
+		assertArrayEquals(content, outputStream.toByteArray());
+
+		spool.discard();
+		assertFalse(Files.exists(payload.getFile().toPath()));
+	}
+
+	private SpoolingOutputStream write(byte[] content) throws IOException {
+		SpoolingOutputStream spool = new SpoolingOutputStream(THRESHOLD, () -> tempDir);
+		try (spool) {
+			// written in uneven slices to cross the threshold mid-write
+			for (int offset = 0; offset < content.length; offset += 300) {
+				spool.write(content, offset, Math.min(300, content.length - offset));
+			}
+		}
+		return spool;
+	}
+
+	private static byte[] content(int size) {
+		byte[] content = new byte[size];
+		new Random(42).nextBytes(content);
+		return content;
+	}
+
+}
@@ -0,0 +1,115 @@
+package io.github.madsonpaulo.springcodegenerator.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ZipArchiveWriterTest {
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void testEntriesAreWrittenInOrderWithTheirContent() throws IOException {
+		byte[] archive = writeArchive(500);
+
+		List<String> names = new ArrayList<>();
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+			for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+				assertEquals(content(names.size()), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+				names.add(entry.getName());
+			}
+		}
+
+		assertEquals(500, names.size());
+		assertEquals(name(0), names.get(0));
+		assertEquals(name(499), names.get(499));
+	}
+
+	@Test
+	void testSameEntriesProduceSameBytes() throws IOException {
+		byte[] first = writeArchive(500);
+
+		// entries deflated on a busier pool complete in another order
+		executor.execute(() -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50)));
+		byte[] second = writeArchive(500);
+
+		assertArrayEquals(first, second);
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(first))) {
+			assertEquals(LocalDateTime.of(1980, 1, 1, 0, 0), zipInputStream.getNextEntry().getTimeLocal());
+		}
+	}
+
+	@Test
+	void testArchivesBeyond65535EntriesUseZip64() throws IOException {
+		Path file = Files.write(tempDir.resolve("large.zip"), writeArchive(70_000));
+
+		try (ZipFile zipFile = new ZipFile(file.toFile())) {
+			List<? extends ZipEntry> entries = Collections.list(zipFile.entries());
+
+			assertEquals(70_000, entries.size());
+			assertEquals(content(69_999), new String(zipFile.getInputStream(entries.get(69_999)).readAllBytes(),
+					StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void testDuplicateEntriesAreRejected() throws IOException {
+		try (ZipArchiveWriter writer = new ZipArchiveWriter(new ByteArrayOutputStream(), executor)) {
+			writer.putEntry("A.java", new byte[0]);
+
+			assertThrows(ZipException.class, () -> writer.putEntry("A.java", new byte[0]));
+		}
+	}
+
+	private byte[] writeArchive(int entryCount) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		try (ZipArchiveWriter writer = new ZipArchiveWriter(outputStream, executor)) {
+			for (int i = 0; i < entryCount; i++) {
+				writer.putEntry(name(i), content(i).getBytes(StandardCharsets.UTF_8));
+			}
+			writer.finish();
+		}
+
+		return outputStream.toByteArray();
+	}
+
+	private static String name(int index) {
+		return "com/example/Class%d.java".formatted(index);
+	}
+
+	private static String content(int index) {
+		return "public class Class%d {\n%s}\n".formatted(index, "\t// generated\n".repeat(index % 50));
+	}
+
+}
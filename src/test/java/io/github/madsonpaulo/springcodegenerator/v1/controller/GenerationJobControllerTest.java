@@ -0,0 +1,59 @@
+package io.github.madsonpaulo.springcodegenerator.v1.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.jayway.jsonpath.JsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("mock")
+class GenerationJobControllerTest {
+	private static final String JOBS_PATH = "/v1/generator/jobs";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void testMinimalRequestIsAccepted() throws Exception {
+		String body = submit("""
+				{"tableNames": "T999TEST", "rootPackage": "com.example"}
+				""").andExpect(status().isAccepted()).andExpect(header().exists(HttpHeaders.LOCATION))
+				.andExpect(jsonPath("$.jobId").exists()).andReturn().getResponse().getContentAsString();
+
+		mockMvc.perform(delete(JOBS_PATH + "/{jobId}", JsonPath.<String>read(body, "$.jobId")))
+				.andExpect(status().isNoContent());
+	}
+
+	@Test
+	void testBlankTableNamesAreRefused() throws Exception {
+		submit("""
+				{"tableNames": " ", "rootPackage": "com.example"}
+				""").andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testMissingRootPackageIsRefused() throws Exception {
+		submit("""
+				{"tableNames": "T999TEST"}
+				""").andExpect(status().isBadRequest());
+	}
+
+	private ResultActions submit(String body) throws Exception {
+		return mockMvc.perform(post(JOBS_PATH).contentType(MediaType.APPLICATION_JSON).content(body));
+	}
+
+}
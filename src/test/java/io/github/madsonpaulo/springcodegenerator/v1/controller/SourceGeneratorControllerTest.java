@@ -0,0 +1,88 @@
+package io.github.madsonpaulo.springcodegenerator.v1.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import io.github.madsonpaulo.springcodegenerator.core.dto.PreparedGenerationDto;
+import io.github.madsonpaulo.springcodegenerator.core.service.SourceGeneratorService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("mock")
+class SourceGeneratorControllerTest {
+	private static final String CLASSES_PATH = "/v1/generator/sqlserver/classes";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoSpyBean
+	private SourceGeneratorService sourceGeneratorService;
+
+	@Test
+	void testMatchingETagIsNotModified() throws Exception {
+		String eTag = download(classes());
+		clearInvocations(sourceGeneratorService);
+
+		mockMvc.perform(classes().header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag)).andExpect(content().bytes(new byte[0]));
+
+		verify(sourceGeneratorService, never()).generatePayload(any(PreparedGenerationDto.class));
+		verify(sourceGeneratorService, never()).streamPayload(any(PreparedGenerationDto.class));
+	}
+
+	@Test
+	void testWeakAndWildcardETagsAreNotModified() throws Exception {
+		String eTag = download(classes());
+
+		mockMvc.perform(classes().header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+				.andExpect(status().isNotModified()).andExpect(content().bytes(new byte[0]));
+		mockMvc.perform(classes().header(HttpHeaders.IF_NONE_MATCH, "*")).andExpect(status().isNotModified())
+				.andExpect(content().bytes(new byte[0]));
+	}
+
+	@Test
+	void testPackagingOptionsChangeTheETag() throws Exception {
+		String eTag = download(classes());
+
+		assertNotEquals(eTag, download(classes().param("packagingFormat", "TAR_GZ")));
+		assertNotEquals(eTag, download(classes().param("compressionLevel", "1")));
+	}
+
+	private static MockHttpServletRequestBuilder classes() {
+		return get(CLASSES_PATH).param("tableNames", "T999TEST").param("rootPackage", "com.example");
+	}
+
+	/**
+	 * Downloads the generated payload and returns its ETag.
+	 */
+	private String download(MockHttpServletRequestBuilder builder) throws Exception {
+		MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+		String eTag = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn().getResponse()
+				.getHeader(HttpHeaders.ETAG);
+
+		assertNotNull(eTag);
+		return eTag;
+	}
+
+}